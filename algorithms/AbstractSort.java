@@ -2,7 +2,13 @@ package main.com.acscooter.algorithms;
 
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * @author      Antares Chen
@@ -10,9 +16,41 @@ import java.util.List;
  * A base class for sorting algorithms. The method sort is subject to change
  * with the algorithm so we'll leave that abstract. A nice wrapper for arrays
  * is provided.
+ *
+ * Besides the natural ordering, elements can be sorted with a Comparator or
+ * by a key pulled out of each element. The key variants compute every key up
+ * front into an array that runs parallel to an array of positions, merge sort
+ * the two together and then rearrange the elements to match, so an expensive
+ * key is computed n times rather than once per comparison and no element is
+ * wrapped in anything. Sorting by key is always stable.
  */
 public abstract class AbstractSort {
-    
+
+    /** The listener told about every sort call. NONE when disabled. */
+    protected SortMetrics metrics = SortMetrics.NONE;
+
+    /**
+     * Attaches METRICS to this sorter. Passing null detaches any listener.
+     * Every sorter reports at least the size and wall time of each sort
+     * call, and every comparison sort its comparisons.
+     * The listener hears from whatever thread calls sort, so a sorter with
+     * metrics attached is only as thread-safe as its listener; give each
+     * thread its own sorter when the listener keeps no locks.
+     * @param metrics
+     */
+    public void setMetrics(SortMetrics metrics) {
+        this.metrics = metrics == null ? SortMetrics.NONE : metrics;
+    }
+
+    /**
+     * Returns the attached listener, which is SortMetrics.NONE if there is
+     * none.
+     * @return the listener
+     */
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Wrapper method for sorting arrays
      * @param array
@@ -30,4 +68,635 @@ public abstract class AbstractSort {
      * @return sorted array
      */
     public abstract <T extends Comparable<T>> List<T> sort(List<T> list);
+
+    /**
+     * Sorts ARRAY with COMPARATOR. The default implementation wraps every
+     * element in a Comparable that defers to COMPARATOR and runs the wrappers
+     * through sort(T[]), so subclasses that can use a comparator directly
+     * should override it.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator) {
+        Ordered<T>[] wrapped = (Ordered<T>[]) new Ordered<?>[array.length];
+        for (int i = 0; i < array.length; i++) {
+            wrapped[i] = new Ordered<>(array[i], comparator);
+        }
+        wrapped = sort(wrapped);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = wrapped[i].value;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts LIST with COMPARATOR.
+     * @param list
+     * @param comparator
+     * @param <T>
+     * @return the same list, sorted
+     */
+    public <T> List<T> sort(List<T> list, Comparator<? super T> comparator) {
+        if (list.size() <= 1) {
+            return list;
+        }
+        return copyBack(sort(toArray(list), comparator), list);
+    }
+
+    /**
+     * Sorts LIST stably by the key KEY extracts from each element. Every key
+     * is computed exactly once.
+     * @param list
+     * @param key
+     * @param <T>
+     * @param <K>
+     * @return the same list, sorted
+     */
+    @SuppressWarnings("unchecked")
+    public <T, K extends Comparable<? super K>> List<T> sortByKey(
+            List<T> list, Function<? super T, ? extends K> key) {
+        long start = begin(list.size());
+        K[] keys = (K[]) new Comparable<?>[list.size()];
+        int i = 0;
+        for (T element : list) {
+            keys[i++] = key.apply(element);
+        }
+        permute(list, sortPositions(keys));
+        end(start);
+        return list;
+    }
+
+    /**
+     * Sorts ARRAY by the key KEY extracts from each element.
+     * @param array
+     * @param key
+     * @param <T>
+     * @param <K>
+     * @return the same array, sorted
+     */
+    public <T, K extends Comparable<? super K>> T[] sortByKey(
+            T[] array, Function<? super T, ? extends K> key) {
+        sortByKey(Arrays.asList(array), key);
+        return array;
+    }
+
+    /**
+     * Sorts LIST stably by the long key KEY extracts from each element. Keys
+     * are computed exactly once and never boxed.
+     * @param list
+     * @param key
+     * @param <T>
+     * @return the same list, sorted
+     */
+    public <T> List<T> sortByLongKey(List<T> list, ToLongFunction<? super T> key) {
+        long start = begin(list.size());
+        long[] keys = new long[list.size()];
+        int i = 0;
+        for (T element : list) {
+            keys[i++] = key.applyAsLong(element);
+        }
+        permute(list, sortPositions(keys));
+        end(start);
+        return list;
+    }
+
+    /**
+     * Sorts ARRAY by the long key KEY extracts from each element.
+     * @param array
+     * @param key
+     * @param <T>
+     * @return the same array, sorted
+     */
+    public <T> T[] sortByLongKey(T[] array, ToLongFunction<? super T> key) {
+        sortByLongKey(Arrays.asList(array), key);
+        return array;
+    }
+
+    /**
+     * Sorts LIST stably by the double key KEY extracts from each element.
+     * Keys are computed exactly once, never boxed and ordered as by
+     * Double.compare.
+     * @param list
+     * @param key
+     * @param <T>
+     * @return the same list, sorted
+     */
+    public <T> List<T> sortByDoubleKey(List<T> list,
+                                       ToDoubleFunction<? super T> key) {
+        long start = begin(list.size());
+        long[] keys = new long[list.size()];
+        int i = 0;
+        for (T element : list) {
+            // Flipping all but the sign bit of a negative double makes signed
+            // long order agree with Double.compare, -0.0 and NaN included.
+            long bits = Double.doubleToLongBits(key.applyAsDouble(element));
+            keys[i++] = bits ^ (bits >> 63 & Long.MAX_VALUE);
+        }
+        permute(list, sortPositions(keys));
+        end(start);
+        return list;
+    }
+
+    /**
+     * Sorts ARRAY by the double key KEY extracts from each element.
+     * @param array
+     * @param key
+     * @param <T>
+     * @return the same array, sorted
+     */
+    public <T> T[] sortByDoubleKey(T[] array, ToDoubleFunction<? super T> key) {
+        sortByDoubleKey(Arrays.asList(array), key);
+        return array;
+    }
+
+    /**
+     * Wrapper method for sorting int arrays. The default implementation boxes
+     * the array and runs it through sort(T[]), so subclasses that can work on
+     * the primitives directly should override it.
+     * @param array
+     * @return the same array, sorted
+     */
+    public int[] sort(int[] array) {
+        Integer[] boxed = new Integer[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        boxed = sort(boxed);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = boxed[i];
+        }
+        return array;
+    }
+
+    /**
+     * Wrapper method for sorting long arrays. The default implementation boxes
+     * the array and runs it through sort(T[]), so subclasses that can work on
+     * the primitives directly should override it.
+     * @param array
+     * @return the same array, sorted
+     */
+    public long[] sort(long[] array) {
+        Long[] boxed = new Long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        boxed = sort(boxed);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = boxed[i];
+        }
+        return array;
+    }
+
+    /**
+     * Wrapper method for sorting float arrays. The default implementation boxes
+     * the array and runs it through sort(T[]), so subclasses that can work on
+     * the primitives directly should override it. Either way the result is in
+     * Float.compare order: NaNs last and -0.0 before 0.0. Overrides get there
+     * by moving the NaNs to the end first with moveNaNsToEnd, sorting the rest
+     * and putting the zeros back in order afterwards with orderZeros.
+     * @param array
+     * @return the same array, sorted
+     */
+    public float[] sort(float[] array) {
+        Float[] boxed = new Float[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        boxed = sort(boxed);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = boxed[i];
+        }
+        return array;
+    }
+
+    /**
+     * Wrapper method for sorting double arrays. The default implementation boxes
+     * the array and runs it through sort(T[]), so subclasses that can work on
+     * the primitives directly should override it. The result is in
+     * Double.compare order, just like sort(float[]).
+     * @param array
+     * @return the same array, sorted
+     */
+    public double[] sort(double[] array) {
+        Double[] boxed = new Double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        boxed = sort(boxed);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = boxed[i];
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY with COMPARATOR, for callers like
+     * SampleSort that hand a sorter one piece of a larger array. The default
+     * implementation sorts a copy of the range and writes it back, so
+     * subclasses that can sort a range in place should override it.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     */
+    protected <T> void sortRange(T[] array, int low, int high,
+                                 Comparator<? super T> comparator) {
+        T[] range = Arrays.copyOfRange(array, low, high);
+        System.arraycopy(sort(range, comparator), 0, array, low, range.length);
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY. The default implementation sorts
+     * a copy of the range and writes it back.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     */
+    protected void sortRange(int[] array, int low, int high) {
+        int[] range = Arrays.copyOfRange(array, low, high);
+        System.arraycopy(sort(range), 0, array, low, range.length);
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY. The default implementation sorts
+     * a copy of the range and writes it back.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     */
+    protected void sortRange(long[] array, int low, int high) {
+        long[] range = Arrays.copyOfRange(array, low, high);
+        System.arraycopy(sort(range), 0, array, low, range.length);
+    }
+
+    /**
+     * Moves every NaN in the range [low, high) of ARRAY to the end of the
+     * range so the rest can be sorted with plain float comparisons.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return the end of the NaN free prefix of the range
+     */
+    protected static int moveNaNsToEnd(float[] array, int low, int high) {
+        while (low < high && Float.isNaN(array[high - 1])) {
+            high--;
+        }
+        for (int i = high - 1; i >= low; i--) {
+            if (Float.isNaN(array[i])) {
+                array[i] = array[high - 1];
+                array[high - 1] = Float.NaN;
+                high--;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Plain float comparisons consider -0.0 and 0.0 equal, so after sorting the
+     * NaN free range [low, high) of ARRAY the zeros can come out in any
+     * order. This rewrites the run of zeros so the negative ones come first,
+     * matching Float.compare.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     */
+    protected static void orderZeros(float[] array, int low, int high) {
+        int start = low;
+        int end = high;
+        while (start < end) {
+            int middle = (start + end) >>> 1;
+            if (array[middle] < 0.0f) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+        int negatives = 0;
+        for (end = start; end < high && array[end] == 0.0f; end++) {
+            if (Float.floatToRawIntBits(array[end]) < 0) {
+                negatives++;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            array[i] = i < start + negatives ? -0.0f : 0.0f;
+        }
+    }
+
+    /**
+     * Moves every NaN in the range [low, high) of ARRAY to the end of the
+     * range so the rest can be sorted with plain double comparisons.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return the end of the NaN free prefix of the range
+     */
+    protected static int moveNaNsToEnd(double[] array, int low, int high) {
+        while (low < high && Double.isNaN(array[high - 1])) {
+            high--;
+        }
+        for (int i = high - 1; i >= low; i--) {
+            if (Double.isNaN(array[i])) {
+                array[i] = array[high - 1];
+                array[high - 1] = Double.NaN;
+                high--;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Plain double comparisons consider -0.0 and 0.0 equal, so after sorting the
+     * NaN free range [low, high) of ARRAY the zeros can come out in any
+     * order. This rewrites the run of zeros so the negative ones come first,
+     * matching Double.compare.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     */
+    protected static void orderZeros(double[] array, int low, int high) {
+        int start = low;
+        int end = high;
+        while (start < end) {
+            int middle = (start + end) >>> 1;
+            if (array[middle] < 0.0) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+        int negatives = 0;
+        for (end = start; end < high && array[end] == 0.0; end++) {
+            if (Double.doubleToRawLongBits(array[end]) < 0) {
+                negatives++;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            array[i] = i < start + negatives ? -0.0 : 0.0;
+        }
+    }
+
+    /**
+     * Reports the start of a sort of SIZE elements to the metrics listener.
+     * @param size
+     * @return the start time to hand to end, or 0 if metrics are disabled
+     */
+    protected final long begin(int size) {
+        if (metrics == SortMetrics.NONE) {
+            return 0;
+        }
+        metrics.started(getClass().getSimpleName(), size);
+        return System.nanoTime();
+    }
+
+    /**
+     * Reports the end of the sort that began at START.
+     * @param start
+     */
+    protected final void end(long start) {
+        if (metrics != SortMetrics.NONE) {
+            metrics.finished(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns COMPARATOR wrapped so that it reports every comparison to the
+     * metrics listener, or COMPARATOR itself if metrics are disabled.
+     * @param comparator
+     * @param <T>
+     * @return the comparator to sort with
+     */
+    protected final <T> Comparator<? super T> counted(
+            Comparator<? super T> comparator) {
+        SortMetrics metrics = this.metrics;
+        if (metrics == SortMetrics.NONE) {
+            return comparator;
+        }
+        return (a, b) -> {
+            metrics.compared(1);
+            return comparator.compare(a, b);
+        };
+    }
+
+    /**
+     * Returns COMPARATOR wrapped so that it adds every comparison to COUNT,
+     * or COMPARATOR itself if metrics are disabled. Any number of threads can
+     * compare with it at once, so the parallel sorts use it and report the
+     * sum from the calling thread once the pool is done.
+     * @param comparator
+     * @param count
+     * @param <T>
+     * @return the comparator to sort with
+     */
+    protected final <T> Comparator<? super T> counted(
+            Comparator<? super T> comparator, LongAdder count) {
+        if (metrics == SortMetrics.NONE) {
+            return comparator;
+        }
+        return (a, b) -> {
+            count.increment();
+            return comparator.compare(a, b);
+        };
+    }
+
+    /**
+     * Copies LIST into a fresh array for the array based sorts.
+     * @param list
+     * @param <T>
+     * @return array holding the elements of list
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> T[] toArray(List<T> list) {
+        return (T[]) list.toArray();
+    }
+
+    /**
+     * Writes ARRAY back into LIST through a list iterator so that linked lists are not walked once per element.
+     * @param array
+     * @param list
+     * @param <T>
+     * @return list
+     */
+    protected static <T> List<T> copyBack(T[] array, List<T> list) {
+        ListIterator<T> iterator = list.listIterator();
+        for (T element : array) {
+            iterator.next();
+            iterator.set(element);
+        }
+        return list;
+    }
+
+    /** Runs shorter than this are insertion sorted before merging. */
+    private static final int KEY_RUN = 16;
+
+    /**
+     * Merge sorts KEYS, stably, and returns the position each key started
+     * at in sorted key order. Runs of KEY_RUN keys are insertion sorted and
+     * then merged bottom up, moving keys and positions together so that
+     * the merges never chase an index.
+     * @param keys
+     * @return the starting positions in sorted order
+     */
+    private int[] sortPositions(long[] keys) {
+        int n = keys.length;
+        int[] positions = new int[n];
+        long comparisons = 0;
+        for (int low = 0; low < n; low += KEY_RUN) {
+            int high = Math.min(low + KEY_RUN, n);
+            for (int i = low; i < high; i++) {
+                long key = keys[i];
+                int j = i - 1;
+                while (j >= low) {
+                    comparisons++;
+                    if (keys[j] <= key) {
+                        break;
+                    }
+                    keys[j + 1] = keys[j];
+                    positions[j + 1] = positions[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                positions[j + 1] = i;
+            }
+        }
+        if (n > KEY_RUN) {
+            metrics.allocated(n);
+        }
+        long[] keyBuffer = n > KEY_RUN ? new long[n] : keys;
+        int[] positionBuffer = n > KEY_RUN ? new int[n] : positions;
+        for (int width = KEY_RUN; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int middle = Math.min(low + width, n);
+                int high = Math.min(middle + width, n);
+                int i = low;
+                int j = middle;
+                int k = low;
+                while (i < middle && j < high) {
+                    comparisons++;
+                    if (keys[j] < keys[i]) {
+                        keyBuffer[k] = keys[j];
+                        positionBuffer[k++] = positions[j++];
+                    } else {
+                        keyBuffer[k] = keys[i];
+                        positionBuffer[k++] = positions[i++];
+                    }
+                }
+                System.arraycopy(keys, i, keyBuffer, k, middle - i);
+                System.arraycopy(positions, i, positionBuffer, k, middle - i);
+                k += middle - i;
+                System.arraycopy(keys, j, keyBuffer, k, high - j);
+                System.arraycopy(positions, j, positionBuffer, k, high - j);
+            }
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapPositions = positions;
+            positions = positionBuffer;
+            positionBuffer = swapPositions;
+        }
+        metrics.compared(comparisons);
+        return positions;
+    }
+
+    /**
+     * Merge sorts KEYS, stably, and returns the position each key started
+     * at in sorted key order, exactly like sortPositions(long[]).
+     * @param keys
+     * @param <K>
+     * @return the starting positions in sorted order
+     */
+    @SuppressWarnings("unchecked")
+    private <K extends Comparable<? super K>> int[] sortPositions(K[] keys) {
+        int n = keys.length;
+        int[] positions = new int[n];
+        long comparisons = 0;
+        for (int low = 0; low < n; low += KEY_RUN) {
+            int high = Math.min(low + KEY_RUN, n);
+            for (int i = low; i < high; i++) {
+                K key = keys[i];
+                int j = i - 1;
+                while (j >= low) {
+                    comparisons++;
+                    if (keys[j].compareTo(key) <= 0) {
+                        break;
+                    }
+                    keys[j + 1] = keys[j];
+                    positions[j + 1] = positions[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                positions[j + 1] = i;
+            }
+        }
+        if (n > KEY_RUN) {
+            metrics.allocated(n);
+        }
+        K[] keyBuffer = n > KEY_RUN ? (K[]) new Comparable<?>[n] : keys;
+        int[] positionBuffer = n > KEY_RUN ? new int[n] : positions;
+        for (int width = KEY_RUN; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int middle = Math.min(low + width, n);
+                int high = Math.min(middle + width, n);
+                int i = low;
+                int j = middle;
+                int k = low;
+                while (i < middle && j < high) {
+                    comparisons++;
+                    if (keys[j].compareTo(keys[i]) < 0) {
+                        keyBuffer[k] = keys[j];
+                        positionBuffer[k++] = positions[j++];
+                    } else {
+                        keyBuffer[k] = keys[i];
+                        positionBuffer[k++] = positions[i++];
+                    }
+                }
+                System.arraycopy(keys, i, keyBuffer, k, middle - i);
+                System.arraycopy(positions, i, positionBuffer, k, middle - i);
+                k += middle - i;
+                System.arraycopy(keys, j, keyBuffer, k, high - j);
+                System.arraycopy(positions, j, positionBuffer, k, high - j);
+            }
+            K[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapPositions = positions;
+            positions = positionBuffer;
+            positionBuffer = swapPositions;
+        }
+        metrics.compared(comparisons);
+        return positions;
+    }
+
+    /**
+     * Rearranges LIST so that its i-th element is the one that sat at
+     * POSITIONS[i], writing through a list iterator like copyBack.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void permute(List<T> list, int[] positions) {
+        Object[] elements = list.toArray();
+        ListIterator<T> iterator = list.listIterator();
+        for (int position : positions) {
+            iterator.next();
+            iterator.set((T) elements[position]);
+        }
+    }
+
+    /** Adapts an element and a Comparator into a Comparable. */
+    private static final class Ordered<T> implements Comparable<Ordered<T>> {
+        private final T value;
+        private final Comparator<? super T> comparator;
+
+        Ordered(T value, Comparator<? super T> comparator) {
+            this.value = value;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compareTo(Ordered<T> other) {
+            return comparator.compare(value, other.value);
+        }
+    }
 }
@@ -0,0 +1,525 @@
+package main.com.acscooter.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Every sort in this package is the best choice for some inputs and a poor one for others. Insertion sort wins below
+ * a few dozen elements and loses badly above that. TimSort is close to linear on input that is mostly in order and
+ * merely decent on random input. Radix sort leaves every comparison sort behind on large arrays of integers, while
+ * quicksort is the all rounder. AdaptiveSort takes a quick look at the input and then hands it to whichever engine
+ * fits, so that callers don't have to make that call themselves.
+ *
+ * The look is cheap on purpose. Up to WINDOWS windows of WINDOW consecutive elements, spread evenly over the input,
+ * are scanned once, comparing every element to its neighbour. That is at most a few hundred comparisons no matter how
+ * big the input is, and it yields two numbers. The descent ratio is the fraction of neighbouring pairs that are out
+ * of order, which is about 0.5 for random input, close to 0 for input made of a few long ascending runs and close to 1
+ * for long descending ones; multiplied by n it estimates the number of runs. The duplicate ratio is the fraction of
+ * neighbouring pairs that compare equal. Together with the size and the key type, they decide the engine:
+ *
+ *  - At most INSERTION_LIMIT objects are insertion sorted and at most SortingNetworks.MAX_SIZE ints or longs go
+ *    through a sorting network.
+ *  - A sample without a single descent gets a full O(n) check, and an input that is already sorted is left alone.
+ *  - Objects that look mostly ascending or mostly descending go to TimSort, which finds the runs and merges them.
+ *  - Strings in their natural order, from RADIX_LIMIT on, go to the MSD radix sort.
+ *  - Ints, longs, floats and doubles go to the LSD radix sort from RADIX_LIMIT on. Floats and doubles are mapped to
+ *    integers with the same order first and mapped back afterwards.
+ *  - Large object arrays go to SampleSort if there is more than one core to run it on and the sample doesn't look
+ *    dominated by a few distinct keys, since a bucket full of equal keys can't be split up.
+ *  - Everything else goes to Quicksort.
+ *
+ * The last decision is kept in a Profile that getLastProfile returns, and the strategy is reported to the attached
+ * SortMetrics through chose, so the choices can be audited on real data. The listener is shared with the engines, so
+ * it also gets the engine's own comparison and move counts. Like RadixSort, an AdaptiveSort keeps state between calls
+ * and shouldn't be shared between threads. The result is not stable.
+ */
+public class AdaptiveSort extends AbstractSort
+{
+    /** Object inputs of at most this many elements are insertion sorted. */
+    static final int INSERTION_LIMIT = 32;
+    /** Inputs of at least this many elements are radix sorted when their key type allows it. */
+    static final int RADIX_LIMIT = 1024;
+    /** Object inputs of at least this many elements are sample sorted when there are cores to spare. */
+    static final int PARALLEL_LIMIT = 1 << 16;
+    /** The most windows sampled. */
+    private static final int WINDOWS = 32;
+    /** The number of consecutive elements in a window. */
+    private static final int WINDOW = 16;
+    /**
+     * Input counts as presorted when at most this fraction of the unequal sampled pairs, or at least one minus it, are
+     * out of order. Equal pairs are left out so that a reversed input full of duplicates still looks reversed.
+     */
+    private static final double PRESORTED = 0.1;
+    /** A duplicate ratio above this counts as dominated by a few keys. */
+    private static final double DUPLICATES = 0.5;
+
+    private final Quicksort quicksort = new Quicksort();
+    private final TimSort timSort = new TimSort();
+    private final RadixSort radixSort = new RadixSort();
+    private final SampleSort sampleSort;
+    private final int parallelism;
+
+    /** The profile of the last input sorted. */
+    private Profile lastProfile;
+
+    /** Creates an adaptive sort whose parallel engine runs on the common pool. */
+    public AdaptiveSort()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an adaptive sort whose parallel engine runs on POOL.
+     * @param pool
+     */
+    public AdaptiveSort(ForkJoinPool pool)
+    {
+        sampleSort = new SampleSort(pool);
+        parallelism = pool.getParallelism();
+    }
+
+    /**
+     * Attaches METRICS to this sorter and every engine it dispatches to.
+     * @param metrics
+     */
+    @Override
+    public void setMetrics(SortMetrics metrics)
+    {
+        super.setMetrics(metrics);
+        quicksort.setMetrics(metrics);
+        timSort.setMetrics(metrics);
+        radixSort.setMetrics(metrics);
+        sampleSort.setMetrics(metrics);
+    }
+
+    /** Returns the profile of the last input sorted, or null if nothing has been sorted yet. */
+    public Profile getLastProfile()
+    {
+        return lastProfile;
+    }
+
+    /**
+     * Sorts ARRAY in place with whichever engine fits it best.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        return sort(array, Comparator.<T>naturalOrder(), true);
+    }
+
+    /**
+     * Sorts ARRAY in place with COMPARATOR, using whichever engine fits it best.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        return sort(array, comparator, false);
+    }
+
+    /**
+     * Copies the list into an array, sorts it and writes the result back into the list.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        return sort(list, Comparator.<T>naturalOrder(), true);
+    }
+
+    /**
+     * Copies the list into an array, sorts it with COMPARATOR and writes the result back into the list.
+     * @param list
+     * @param comparator
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T> List<T> sort(List<T> list, Comparator<? super T> comparator)
+    {
+        return sort(list, comparator, false);
+    }
+
+    /** Sorts LIST through an array, passing NATURAL on to the array sort. */
+    private <T> List<T> sort(List<T> list, Comparator<? super T> comparator, boolean natural)
+    {
+        if (list.size() <= 1)
+            return list;
+        return copyBack(sort(toArray(list), comparator, natural), list);
+    }
+
+    /**
+     * Profiles ARRAY and sorts it with the chosen engine. NATURAL is set when COMPARATOR is the natural order, which
+     * is the only order the String radix sort knows.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T[] sort(T[] array, Comparator<? super T> comparator, boolean natural)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        String keyType = n == 0 || array[0] == null ? "Object" : array[0].getClass().getSimpleName();
+        Profile profile;
+        if (n <= INSERTION_LIMIT)
+        {
+            profile = new Profile(n, keyType, Double.NaN, Double.NaN, "insertion");
+            metrics.moved(InsertionSort.sort(array, 0, n, counted(comparator)));
+        }
+        else
+        {
+            int windows = Math.min(WINDOWS, n / WINDOW);
+            int descents = 0;
+            int equals = 0;
+            for (int w = 0; w < windows; w ++)
+            {
+                int first = windowStart(n, windows, w);
+                for (int i = first + 1; i < first + WINDOW; i ++)
+                {
+                    int comparison = comparator.compare(array[i - 1], array[i]);
+                    if (comparison > 0)
+                        descents ++;
+                    else if (comparison == 0)
+                        equals ++;
+                }
+            }
+            double pairs = windows * (WINDOW - 1);
+            double descentRatio = descents / pairs;
+            double duplicateRatio = equals / pairs;
+
+            if (descents == 0 && isSorted(array, comparator))
+            {
+                profile = new Profile(n, keyType, descentRatio, duplicateRatio, "already-sorted");
+            }
+            else if (descents <= PRESORTED * (pairs - equals) || descents >= (1 - PRESORTED) * (pairs - equals))
+            {
+                profile = new Profile(n, keyType, descentRatio, duplicateRatio, "timsort");
+                timSort.sort(array, comparator);
+            }
+            else if (natural && n >= RADIX_LIMIT && allStrings(array))
+            {
+                profile = new Profile(n, keyType, descentRatio, duplicateRatio, "msd-radix");
+                radixSort.sortStrings((List<String>) (List<?>) Arrays.asList(array));
+            }
+            else if (n >= PARALLEL_LIMIT && parallelism > 1 && duplicateRatio <= DUPLICATES)
+            {
+                profile = new Profile(n, keyType, descentRatio, duplicateRatio, "sample-sort");
+                sampleSort.sort(array, comparator);
+            }
+            else
+            {
+                profile = new Profile(n, keyType, descentRatio, duplicateRatio, "quicksort");
+                quicksort.sort(array, comparator);
+            }
+        }
+        record(profile);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with whichever engine fits it best.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public int[] sort(int[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        Profile profile;
+        if (n <= SortingNetworks.MAX_SIZE)
+        {
+            profile = new Profile(n, "int", Double.NaN, Double.NaN, "network");
+            SortingNetworks.sort(array, 0, n);
+        }
+        else
+        {
+            int windows = Math.min(WINDOWS, n / WINDOW);
+            int descents = 0;
+            int equals = 0;
+            for (int w = 0; w < windows; w ++)
+            {
+                int first = windowStart(n, windows, w);
+                for (int i = first + 1; i < first + WINDOW; i ++)
+                {
+                    descents += array[i - 1] > array[i] ? 1 : 0;
+                    equals += array[i - 1] == array[i] ? 1 : 0;
+                }
+            }
+            double pairs = windows * (WINDOW - 1);
+            profile = choosePrimitive(n, "int", descents, equals, pairs, descents == 0 && isSorted(array));
+            if (profile.strategy.equals("radix"))
+                radixSort.sort(array);
+            else if (profile.strategy.equals("quicksort"))
+                quicksort.sort(array);
+        }
+        record(profile);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with whichever engine fits it best.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public long[] sort(long[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        Profile profile;
+        if (n <= SortingNetworks.MAX_SIZE)
+        {
+            profile = new Profile(n, "long", Double.NaN, Double.NaN, "network");
+            SortingNetworks.sort(array, 0, n);
+        }
+        else
+        {
+            profile = profileLongs(array, "long");
+            if (profile.strategy.equals("radix"))
+                radixSort.sort(array);
+            else if (profile.strategy.equals("quicksort"))
+                quicksort.sort(array);
+        }
+        record(profile);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place in Float.compare order with whichever engine fits it best. Large arrays are radix sorted
+     * through their order preserving int encoding.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public float[] sort(float[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        Profile profile;
+        if (n < RADIX_LIMIT)
+        {
+            profile = new Profile(n, "float", Double.NaN, Double.NaN, "quicksort");
+            quicksort.sort(array);
+        }
+        else
+        {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i ++)
+                keys[i] = toSortable(Float.floatToIntBits(array[i]));
+            profile = new Profile(n, "float", Double.NaN, Double.NaN, "radix");
+            radixSort.sort(keys);
+            for (int i = 0; i < n; i ++)
+                array[i] = Float.intBitsToFloat(toSortable(keys[i]));
+        }
+        record(profile);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place in Double.compare order with whichever engine fits it best. Large arrays are radix sorted
+     * through their order preserving long encoding.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public double[] sort(double[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        Profile profile;
+        if (n < RADIX_LIMIT)
+        {
+            profile = new Profile(n, "double", Double.NaN, Double.NaN, "quicksort");
+            quicksort.sort(array);
+        }
+        else
+        {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i ++)
+                keys[i] = toSortable(Double.doubleToLongBits(array[i]));
+            profile = profileLongs(keys, "double");
+            if (profile.strategy.equals("quicksort"))
+                quicksort.sort(keys);
+            else if (profile.strategy.equals("radix"))
+                radixSort.sort(keys);
+            for (int i = 0; i < n; i ++)
+                array[i] = Double.longBitsToDouble(toSortable(keys[i]));
+        }
+        record(profile);
+        end(start);
+        return array;
+    }
+
+    /** Samples more than SortingNetworks.MAX_SIZE longs in ARRAY and picks a strategy for them. */
+    private Profile profileLongs(long[] array, String keyType)
+    {
+        int n = array.length;
+        int windows = Math.min(WINDOWS, n / WINDOW);
+        int descents = 0;
+        int equals = 0;
+        for (int w = 0; w < windows; w ++)
+        {
+            int first = windowStart(n, windows, w);
+            for (int i = first + 1; i < first + WINDOW; i ++)
+            {
+                descents += array[i - 1] > array[i] ? 1 : 0;
+                equals += array[i - 1] == array[i] ? 1 : 0;
+            }
+        }
+        double pairs = windows * (WINDOW - 1);
+        return choosePrimitive(n, keyType, descents, equals, pairs, descents == 0 && isSorted(array));
+    }
+
+    /** Picks the strategy for N primitive keys given what the sample found. */
+    private static Profile choosePrimitive(int n, String keyType, int descents, int equals, double pairs,
+                                           boolean sorted)
+    {
+        String strategy = sorted ? "already-sorted" : n >= RADIX_LIMIT ? "radix" : "quicksort";
+        return new Profile(n, keyType, descents / pairs, equals / pairs, strategy);
+    }
+
+    /** Remembers PROFILE and reports its strategy to the metrics listener. */
+    private void record(Profile profile)
+    {
+        lastProfile = profile;
+        metrics.chose(profile.strategy);
+    }
+
+    /** Returns where window W of WINDOWS starts in an input of N elements. The windows never overlap. */
+    private static int windowStart(int n, int windows, int w)
+    {
+        return (int) ((long) (n - WINDOW) * w / Math.max(1, windows - 1));
+    }
+
+    /** Returns if ARRAY is sorted according to COMPARATOR. */
+    private static <T> boolean isSorted(T[] array, Comparator<? super T> comparator)
+    {
+        for (int i = 1; i < array.length; i ++)
+            if (comparator.compare(array[i - 1], array[i]) > 0)
+                return false;
+        return true;
+    }
+
+    /** Returns if ARRAY is sorted. */
+    private static boolean isSorted(int[] array)
+    {
+        for (int i = 1; i < array.length; i ++)
+            if (array[i - 1] > array[i])
+                return false;
+        return true;
+    }
+
+    /** Returns if ARRAY is sorted. */
+    private static boolean isSorted(long[] array)
+    {
+        for (int i = 1; i < array.length; i ++)
+            if (array[i - 1] > array[i])
+                return false;
+        return true;
+    }
+
+    /** Returns if every element of ARRAY is a String. */
+    private static boolean allStrings(Object[] array)
+    {
+        for (Object element : array)
+            if (!(element instanceof String))
+                return false;
+        return true;
+    }
+
+    /**
+     * Maps the bits of a float to an int that orders the same way Float.compare does, and back again. Negative floats
+     * order backwards as raw bits, so every bit but the sign is flipped for them. NaN is expected to be canonical.
+     */
+    private static int toSortable(int bits)
+    {
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /** Maps the bits of a double to a long that orders the same way Double.compare does, and back again. */
+    private static long toSortable(long bits)
+    {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * What AdaptiveSort saw of an input and what it decided to do with it. The ratios are NaN when the input was too
+     * small to be worth sampling.
+     */
+    public static final class Profile
+    {
+        private final int size;
+        private final String keyType;
+        private final double descentRatio;
+        private final double duplicateRatio;
+        private final String strategy;
+
+        Profile(int size, String keyType, double descentRatio, double duplicateRatio, String strategy)
+        {
+            this.size = size;
+            this.keyType = keyType;
+            this.descentRatio = descentRatio;
+            this.duplicateRatio = duplicateRatio;
+            this.strategy = strategy;
+        }
+
+        /** Returns the number of elements sorted. */
+        public int getSize()
+        {
+            return size;
+        }
+
+        /** Returns the name of the key type, the class of the first element for objects. */
+        public String getKeyType()
+        {
+            return keyType;
+        }
+
+        /** Returns the fraction of sampled neighbouring pairs that were out of order. */
+        public double getDescentRatio()
+        {
+            return descentRatio;
+        }
+
+        /** Returns the estimated number of runs: the descent ratio times the size, plus one. */
+        public long getEstimatedRuns()
+        {
+            return Double.isNaN(descentRatio) ? 1 : 1 + Math.round(descentRatio * size);
+        }
+
+        /** Returns the fraction of sampled neighbouring pairs that compared equal. */
+        public double getDuplicateRatio()
+        {
+            return duplicateRatio;
+        }
+
+        /** Returns the name of the strategy chosen. */
+        public String getStrategy()
+        {
+            return strategy;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s for %d %s: descents %.3f, duplicates %.3f, ~%d runs", strategy, size, keyType,
+                                 descentRatio, duplicateRatio, getEstimatedRuns());
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package main.com.acscooter.algorithms;
+
+import main.com.acscooter.datastructures.BigLongArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Everything else in this package is indexed by int, which caps an input at about two billion elements. BigArraySort
+ * sorts a BigLongArray, which is indexed by long and split into segments, so a few billion keys can be sorted in one
+ * process. Both sorts work in place, since at that size a second copy of the data is usually the one thing there is no
+ * room for, and both spread the work over a ForkJoinPool.
+ *
+ * The radix sort is an in-place MSD radix sort, American flag sort (McIlroy, Bostic and McIlroy, 1993), on the bytes
+ * of the keys from the top one down, with the sign bit of the top byte flipped so negative keys come first. A pass
+ * counts the keys per byte value, works out where every bucket starts and then swaps every key straight into its
+ * bucket, following the cycles the way RecordSort does. The buckets are independent from then on, so every bucket that
+ * is big enough becomes a task of its own. A pass over a range where every key has the same byte is skipped, which is
+ * what makes small or clustered keys cheap. Counting is split over blocks in parallel on big ranges, while the swaps
+ * of a single pass are sequential, so the first pass over the whole array is the part that doesn't scale.
+ *
+ * The introsort is Quicksort's introsort lifted to long indices: median of three pivots, a partition that stops on
+ * equal keys from both ends, heap sort once a range has been split more than 2 lg n times and every side larger than
+ * PARALLEL_CUTOFF forked as a task of its own. Each partition is sequential, so the top levels are the bottleneck,
+ * same as for the radix sort.
+ *
+ * Both sorts finish small ranges with Quicksort's primitive introsort. A small range that sits inside one segment is
+ * sorted right there in the segment, and one that straddles two segments is copied out and back. The introsort also
+ * hands over any range of up to PARALLEL_CUTOFF keys that sits inside one segment, since it wouldn't be forked anyway
+ * and Quicksort is faster on a plain array. Indexing goes straight to the segments rather than through BigLongArray's
+ * bounds checked get and set.
+ */
+public class BigArraySort
+{
+    /** Ranges of at most this many keys are sorted with Quicksort in a plain array. */
+    private static final int SMALL = 1 << 12;
+    /** Ranges larger than this are forked off as tasks of their own. */
+    private static final long PARALLEL_CUTOFF = 1 << 16;
+    /** The number of buckets per radix pass. */
+    private static final int RADIX = 256;
+
+    /** The pool that runs the sorts. */
+    private final ForkJoinPool pool;
+
+    /** Creates a big array sort that runs on the common pool. */
+    public BigArraySort()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a big array sort that runs on POOL.
+     * @param pool
+     */
+    public BigArraySort(ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Sorts ARRAY in place with the radix sort.
+     * @param array
+     * @return the same array, sorted
+     */
+    public BigLongArray sort(BigLongArray array)
+    {
+        return radixSort(array);
+    }
+
+    /**
+     * Sorts ARRAY in place with parallel American flag sort.
+     * @param array
+     * @return the same array, sorted
+     */
+    public BigLongArray radixSort(BigLongArray array)
+    {
+        View view = new View(array);
+        pool.invoke(ForkJoinTask.adapt(() -> radixSort(view, 0, array.size(), Long.BYTES - 1)));
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with parallel introsort.
+     * @param array
+     * @return the same array, sorted
+     */
+    public BigLongArray introsort(BigLongArray array)
+    {
+        View view = new View(array);
+        long n = array.size();
+        int depthLimit = 2 * (63 - Long.numberOfLeadingZeros(Math.max(1, n)));
+        pool.invoke(ForkJoinTask.adapt(() -> introsort(view, 0, n, depthLimit)));
+        return array;
+    }
+
+    /** Sorts [low, high) of VIEW, all of whose keys agree on the bytes above byte B. Runs inside the pool. */
+    private static void radixSort(View view, long low, long high, int b)
+    {
+        long[] count;
+        while (true)
+        {
+            if (high - low <= SMALL)
+            {
+                sortSmall(view, low, high);
+                return;
+            }
+            count = histogram(view, low, high, b);
+            if (count[digit(view.get(low), b)] != high - low)
+                break;
+            if (b == 0)
+                return;
+            b --;
+        }
+
+        long[] next = new long[RADIX];
+        long[] end = new long[RADIX];
+        long sum = low;
+        for (int r = 0; r < RADIX; r ++)
+        {
+            next[r] = sum;
+            sum += count[r];
+            end[r] = sum;
+        }
+        for (int r = 0; r < RADIX; r ++)
+        {
+            while (next[r] < end[r])
+            {
+                long value = view.get(next[r]);
+                int digit = digit(value, b);
+                if (digit == r)
+                    next[r] ++;
+                else
+                    view.swap(next[r], next[digit] ++);
+            }
+        }
+        if (b == 0)
+            return;
+
+        int lower = b - 1;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        long start = low;
+        for (int r = 0; r < RADIX; r ++)
+        {
+            long from = start;
+            long to = end[r];
+            if (to - from > PARALLEL_CUTOFF)
+                tasks.add(ForkJoinTask.adapt(() -> radixSort(view, from, to, lower)));
+            else if (to - from > 1)
+                radixSort(view, from, to, lower);
+            start = to;
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /** Counts the keys in [low, high) of VIEW per value of byte B, splitting big ranges into parallel blocks. */
+    private static long[] histogram(View view, long low, long high, int b)
+    {
+        int blocks = (int) Math.min(64, (high - low) / PARALLEL_CUTOFF);
+        if (blocks <= 1)
+        {
+            long[] count = new long[RADIX];
+            for (long i = low; i < high; i ++)
+                count[digit(view.get(i), b)] ++;
+            return count;
+        }
+
+        long[][] counts = new long[blocks][RADIX];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block ++)
+        {
+            long from = low + (high - low) * block / blocks;
+            long to = low + (high - low) * (block + 1) / blocks;
+            long[] count = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (long i = from; i < to; i ++)
+                    count[digit(view.get(i), b)] ++;
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        long[] count = counts[0];
+        for (int block = 1; block < blocks; block ++)
+            for (int r = 0; r < RADIX; r ++)
+                count[r] += counts[block][r];
+        return count;
+    }
+
+    /**
+     * Sorts [low, high) of VIEW with introsort, handing ranges that blow through DEPTH_LIMIT to heap sort. Sides
+     * larger than PARALLEL_CUTOFF are forked, smaller ones are recursed on, and the loop carries on with the larger
+     * side, so the stack stays O(log n) deep. Runs inside the pool.
+     */
+    private static void introsort(View view, long low, long high, int depthLimit)
+    {
+        List<ForkJoinTask<?>> forked = new ArrayList<>();
+        while (high - low > SMALL)
+        {
+            if (high - low <= PARALLEL_CUTOFF && view.array.segmentOf(low) == view.array.segmentOf(high - 1))
+                break;
+            if (depthLimit -- == 0)
+            {
+                heapSort(view, low, high);
+                low = high;
+                break;
+            }
+
+            long j = partition(view, low, high);
+            long smallLow = low;
+            long smallHigh = j;
+            if (j - low < high - j - 1)
+                low = j + 1;
+            else
+            {
+                smallLow = j + 1;
+                smallHigh = high;
+                high = j;
+            }
+
+            long from = smallLow;
+            long to = smallHigh;
+            int limit = depthLimit;
+            if (to - from > PARALLEL_CUTOFF)
+                forked.add(ForkJoinTask.adapt(() -> introsort(view, from, to, limit)).fork());
+            else
+                introsort(view, from, to, limit);
+        }
+        sortSmall(view, low, high);
+        for (ForkJoinTask<?> task : forked)
+            task.join();
+    }
+
+    /**
+     * Partitions [low, high) of VIEW around the median of its first, middle and last keys. Returns where the pivot
+     * ends up: nothing before it is greater and nothing after it is smaller.
+     */
+    private static long partition(View view, long low, long high)
+    {
+        long middle = low + ((high - low) >>> 1);
+        if (view.get(middle) < view.get(low))
+            view.swap(middle, low);
+        if (view.get(high - 1) < view.get(low))
+            view.swap(high - 1, low);
+        if (view.get(high - 1) < view.get(middle))
+            view.swap(high - 1, middle);
+        view.swap(low, middle);
+
+        long pivot = view.get(low);
+        long i = low;
+        long j = high;
+        while (true)
+        {
+            while (view.get(++ i) < pivot)
+                if (i == high - 1)
+                    break;
+            while (pivot < view.get(-- j))
+                if (j == low)
+                    break;
+            if (i >= j)
+                break;
+            view.swap(i, j);
+        }
+        view.swap(low, j);
+        return j;
+    }
+
+    /** Heap sorts [low, high) of VIEW. */
+    private static void heapSort(View view, long low, long high)
+    {
+        long n = high - low;
+        for (long i = n / 2 - 1; i >= 0; i --)
+            siftDown(view, low, i, n);
+        for (long end = n - 1; end > 0; end --)
+        {
+            view.swap(low, low + end);
+            siftDown(view, low, 0, end);
+        }
+    }
+
+    /** Sifts entry I down a max-heap of N keys starting at LOW. */
+    private static void siftDown(View view, long low, long i, long n)
+    {
+        long value = view.get(low + i);
+        while (2 * i + 1 < n)
+        {
+            long child = 2 * i + 1;
+            if (child + 1 < n && view.get(low + child) < view.get(low + child + 1))
+                child ++;
+            if (value >= view.get(low + child))
+                break;
+            view.set(low + i, view.get(low + child));
+            i = child;
+        }
+        view.set(low + i, value);
+    }
+
+    /**
+     * Sorts [low, high) of VIEW with Quicksort, in its segment if it sits in one and through a copy if it doesn't,
+     * which only ever happens to ranges of at most SMALL keys.
+     */
+    private static void sortSmall(View view, long low, long high)
+    {
+        if (high - low <= 1)
+            return;
+        int first = view.array.segmentOf(low);
+        if (first == view.array.segmentOf(high - 1))
+        {
+            int offset = view.array.offsetOf(low);
+            Quicksort.sort(view.segments[first], offset, offset + (int) (high - low));
+            return;
+        }
+
+        long[] copy = new long[(int) (high - low)];
+        for (int i = 0; i < copy.length; i ++)
+            copy[i] = view.get(low + i);
+        Quicksort.sort(copy, 0, copy.length);
+        for (int i = 0; i < copy.length; i ++)
+            view.set(low + i, copy[i]);
+    }
+
+    /** Returns byte B of VALUE with the sign bit of the top byte flipped. */
+    private static int digit(long value, int b)
+    {
+        int digit = (int) (value >>> (b << 3)) & 0xff;
+        return b == Long.BYTES - 1 ? digit ^ 0x80 : digit;
+    }
+
+    /** Unchecked access to the segments of a BigLongArray. */
+    private static final class View
+    {
+        private final BigLongArray array;
+        private final long[][] segments;
+        private final int shift;
+        private final long mask;
+
+        View(BigLongArray array)
+        {
+            this.array = array;
+            this.segments = new long[array.segmentCount()][];
+            for (int s = 0; s < segments.length; s ++)
+                segments[s] = array.segment(s);
+            this.shift = array.segmentShift();
+            this.mask = (1L << shift) - 1;
+        }
+
+        long get(long i)
+        {
+            return segments[(int) (i >>> shift)][(int) (i & mask)];
+        }
+
+        void set(long i, long value)
+        {
+            segments[(int) (i >>> shift)][(int) (i & mask)] = value;
+        }
+
+        void swap(long i, long j)
+        {
+            long temp = get(i);
+            set(i, get(j));
+            set(j, temp);
+        }
+    }
+}
@@ -43,7 +43,8 @@ public class BogoBogoSort extends BogoSort
         do {
             copy = shuffle(copy);
             subList = copy.subList(0, copy.size() - 1);
-            sort(subList);
+            bogosort(subList);
+            metrics.compared(1);
         } while (copy.get(copy.size() - 1).compareTo(subList.get(subList.size() - 1)) >= 0);
 
         return copy.equals(list);
@@ -1,7 +1,6 @@
 package main.com.acscooter.algorithms;
 
 import java.util.List;
-import java.util.Random;
 
 /**
  * @author      Antares Chen
@@ -21,11 +20,12 @@ import java.util.Random;
  * inequality. You can read the whole thing <a href="http://www.hermann-gruber.com/pdf/fun07-final.html">here</>. It's a
  * pretty cool paper with all sorts of probability and algebras.
  *
- * The below implementation of Bogo Sort actually has a little extra. Instead of calling Java STL's array shuffle, I
- * decided to implement a standard Fisher-Yates Shuffle (further tweaked by Knuth to allow for easier programming).
+ * The below implementation of Bogo Sort actually has a little extra. Instead of calling Java STL's array shuffle, it
+ * uses the standard Fisher-Yates Shuffle (further tweaked by Knuth to allow for easier programming) from Shuffle.
  * Roughly speaking, the Fisher-Yates shuffle works by iterating through each element and potentially swapping it with a
- * random element after it. This is mathematically proven to give each possible permutation of the array an equal
- * probability of occurrence.
+ * random element before it. This is mathematically proven to give each possible permutation of the array an equal
+ * probability of occurrence. Each shuffle draws fresh numbers from the thread's generator, so unlike reseeding a
+ * Random on every swap, successive shuffles actually differ.
  */
 public class BogoSort extends AbstractSort
 {
@@ -38,6 +38,21 @@ public class BogoSort extends AbstractSort
      */
     @Override
     public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        long start = begin(list.size());
+        list = bogosort(list);
+        end(start);
+        return list;
+    }
+
+    /**
+     * The shuffle loop behind sort. It reports nothing to the metrics listener, so that subclasses can sort from
+     * inside isSorted without every nested sort starting the listener over.
+     * @param list
+     * @param <T>
+     * @return sorted list
+     */
+    protected <T extends Comparable<T>> List<T> bogosort(List<T> list)
     {
         if (list.size() > 1)
             while (! isSorted(list))
@@ -47,31 +62,25 @@ public class BogoSort extends AbstractSort
     }
 
     /**
-     * Standard Fisher-Yates shuffle with some added tweaks.
+     * Standard Fisher-Yates shuffle, courtesy of Shuffle.
      * @param list
      * @param <T>
      * @return shuffled array
      */
     public <T> List<T> shuffle(List<T> list)
     {
-        for (int i = 0; i < list.size() - 1; i ++)
-        {
-            Random rngGods = new Random(133713371337L);
-            int random = i + rngGods.nextInt(list.size() - i);
-
-            T temp = list.get(random);
-            list.set(random, list.get(i));
-            list.set(i, temp);
-        }
-
-        return list;
+        return Shuffle.shuffle(list);
     }
 
     protected <T extends Comparable<T>> boolean isSorted(List<T> list)
     {
         for (int i = 1; i < list.size(); i ++)
             if (list.get(i).compareTo(list.get(i - 1)) < 0)
+            {
+                metrics.compared(i);
                 return false;
+            }
+        metrics.compared(Math.max(0, list.size() - 1));
         return true;
     }
 }
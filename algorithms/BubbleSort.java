@@ -30,6 +30,9 @@ public class BubbleSort extends AbstractSort
     @Override
     public <T extends Comparable<T>> List<T> sort(List<T> list)
     {
+        long start = begin(list.size());
+        long comparisons = 0;
+        long moves = 0;
         boolean swapped = true;
 
         while (swapped)
@@ -38,15 +41,20 @@ public class BubbleSort extends AbstractSort
 
             for (int j = 0; j < list.size() - 1; j ++)
             {
+                comparisons ++;
                 if (list.get(j).compareTo(list.get(j + 1)) > 0)
                 {
                     T holder = list.get(j);
                     list.set(j, list.get(j + 1));
                     list.set(j + 1, holder);
+                    moves += 2;
                     swapped = true;
                 }
             }
         }
+        metrics.compared(comparisons);
+        metrics.moved(moves);
+        end(start);
         return list;
     }
 }
@@ -0,0 +1,397 @@
+package main.com.acscooter.algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Every other sort in this package assumes the whole input fits in memory. ExternalSort is for when it doesn't. The
+ * idea goes back to the days of tape drives and is pleasantly simple. First, read as many records as fit in the
+ * memory budget, sort them with one of the in-memory sorts and write them out as a sorted run. Repeat until the input
+ * is exhausted. Then merge all the runs at once: keep the smallest unread record of every run in a heap, repeatedly
+ * pop the smallest one off, emit it and replace it with the next record from the same run. A heap of k runs makes
+ * each step O(log k), so the merge is O(n log k) on top of the O(n log(n / k)) spent sorting the chunks, and the
+ * whole thing reads and writes every record exactly twice.
+ *
+ * The only thing that has to be in memory during the merge is one I/O buffer per run. If there are more runs than
+ * the budget has room for buffers, the runs are split into groups of consecutive runs and each group is merged into
+ * one bigger run, pass after pass, until few enough are left. Keeping the groups consecutive and in order keeps the
+ * earlier input in the earlier runs, which the final merge relies on to break ties.
+ *
+ * Records are written through a RecordCodec, each one prefixed with its length, and all file access goes through a
+ * FileChannel with a direct buffer. The merge itself is a KWayMerge over the run readers, which takes ceil(lg k)
+ * comparisons per record and breaks ties by run number, keeping the merge (and the sort, given a stable chunk sort)
+ * stable. It pulls one record at a time, since the readers already buffer their files.
+ * @param <T> the record type
+ */
+public class ExternalSort<T>
+{
+    /** The default memory budget: 64 MiB. */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    /** The size of each run file's I/O buffer. */
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    /** Encodes records to and from the run files. */
+    private final RecordCodec<T> codec;
+    /** The order to sort records in. */
+    private final Comparator<? super T> comparator;
+    /** The in-memory sort applied to each chunk. */
+    private final AbstractSort chunkSort;
+    /** Roughly how many bytes of records and buffers may be held in memory at once. */
+    private final long memoryBudget;
+    /** The directory run files are spilled to. */
+    private final Path directory;
+
+    /**
+     * Creates an external sort that spills runs to the default temporary directory, sorts chunks with TimSort and
+     * uses the default memory budget.
+     * @param codec
+     * @param comparator
+     */
+    public ExternalSort(RecordCodec<T> codec, Comparator<? super T> comparator)
+    {
+        this(codec, comparator, new TimSort(), DEFAULT_MEMORY_BUDGET, null);
+    }
+
+    /**
+     * Creates an external sort.
+     * @param codec encodes records to and from the run files
+     * @param comparator the order to sort records in
+     * @param chunkSort the in-memory sort applied to each chunk
+     * @param memoryBudget roughly how many bytes of records and buffers may be in memory at once
+     * @param directory the directory to spill runs to, or null for the default temporary directory
+     */
+    public ExternalSort(RecordCodec<T> codec, Comparator<? super T> comparator, AbstractSort chunkSort,
+                        long memoryBudget, Path directory)
+    {
+        if (memoryBudget < 4L * BUFFER_SIZE)
+            throw new IllegalArgumentException("Memory budget too small: " + memoryBudget);
+        this.codec = codec;
+        this.comparator = comparator;
+        this.chunkSort = chunkSort;
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+    }
+
+    /**
+     * Reads every record from INPUT and hands them to OUTPUT in sorted order.
+     * @param input
+     * @param output
+     * @throws IOException if a run file can't be written or read
+     */
+    public void sort(Iterator<? extends T> input, Consumer<? super T> output) throws IOException
+    {
+        // Every run file is in runs or in merged from when it is created until it is deleted, so nothing is left behind
+        // when a spill or a merge fails.
+        List<Path> runs = new ArrayList<>();
+        List<Path> merged = new ArrayList<>();
+        try
+        {
+            List<T> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            while (input.hasNext())
+            {
+                T record = input.next();
+                chunk.add(record);
+                chunkBytes += codec.heapSize(record);
+                if (chunkBytes >= memoryBudget - 2L * BUFFER_SIZE)
+                {
+                    runs.add(spill(chunk));
+                    chunk.clear();
+                    chunkBytes = 0;
+                }
+            }
+
+            if (runs.isEmpty())
+            {
+                chunkSort.sort(chunk, comparator).forEach(output);
+                return;
+            }
+            if (!chunk.isEmpty())
+                runs.add(spill(chunk));
+            chunk = null;
+
+            int fanIn = (int) Math.max(2, memoryBudget / BUFFER_SIZE - 1);
+            while (runs.size() > fanIn)
+            {
+                int k = runs.size();
+                int groups = (k + fanIn - 1) / fanIn;
+                for (int g = 0; g < groups; g ++)
+                {
+                    List<Path> batch = runs.subList((int) ((long) k * g / groups),
+                                                    (int) ((long) k * (g + 1) / groups));
+                    Path run = createRun();
+                    merged.add(run);
+                    try (RunWriter writer = new RunWriter(run))
+                    {
+                        merge(batch, writer::write);
+                    }
+                }
+                List<Path> previous = runs;
+                runs = merged;
+                merged = previous;
+                delete(merged);
+                merged.clear();
+            }
+            merge(runs, output);
+        }
+        finally
+        {
+            try
+            {
+                delete(runs);
+            }
+            finally
+            {
+                delete(merged);
+            }
+        }
+    }
+
+    /**
+     * Sorts CHUNK in memory and writes it out as a new run. Returns the run's path. Deletes the run if it fails, and
+     * turns a write failure back into the IOException it wraps.
+     */
+    private Path spill(List<T> chunk) throws IOException
+    {
+        Path run = createRun();
+        boolean written = false;
+        try (RunWriter writer = new RunWriter(run))
+        {
+            for (T record : chunkSort.sort(chunk, comparator))
+                writer.write(record);
+            written = true;
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            if (!written)
+                Files.deleteIfExists(run);
+        }
+        return run;
+    }
+
+    /** Merges every run in RUNS and hands the records to OUTPUT in sorted order. */
+    private void merge(List<Path> runs, Consumer<? super T> output) throws IOException
+    {
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try
+        {
+            for (Path run : runs)
+                readers.add(new RunReader(run));
+            new KWayMerge<T>(readers, comparator, 1, false).forEachRemaining(output);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            close(readers);
+        }
+    }
+
+    /** Creates an empty run file. */
+    private Path createRun() throws IOException
+    {
+        if (directory == null)
+            return Files.createTempFile("run", ".sort");
+        return Files.createTempFile(directory, "run", ".sort");
+    }
+
+    /**
+     * Deletes every run file in RUNS. Every run is tried even if deleting an earlier one fails, and the first failure
+     * is thrown at the end.
+     */
+    private static void delete(List<Path> runs) throws IOException
+    {
+        IOException failure = null;
+        for (Path run : runs)
+        {
+            try
+            {
+                Files.deleteIfExists(run);
+            }
+            catch (IOException e)
+            {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Closes every reader in READERS. Every reader is closed even if closing an earlier one fails, so no channel or
+     * buffer leaks, and the first failure is thrown at the end.
+     */
+    private static void close(List<? extends Closeable> readers) throws IOException
+    {
+        IOException failure = null;
+        for (Closeable reader : readers)
+        {
+            try
+            {
+                reader.close();
+            }
+            catch (IOException e)
+            {
+                if (failure == null)
+                    failure = e;
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    /** Writes length prefixed records to a run file. */
+    private final class RunWriter implements Closeable
+    {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        RunWriter(Path run) throws IOException
+        {
+            channel = FileChannel.open(run, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(T record)
+        {
+            int size = codec.encodedSize(record);
+            try
+            {
+                if (buffer.remaining() < Integer.BYTES + size)
+                {
+                    flush();
+                    if (buffer.capacity() < Integer.BYTES + size)
+                        buffer = ByteBuffer.allocateDirect(Integer.BYTES + size);
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+
+            buffer.putInt(size);
+            int start = buffer.position();
+            codec.encode(record, buffer);
+            if (buffer.position() - start != size)
+                throw new IllegalStateException("Codec wrote " + (buffer.position() - start) + " bytes, expected "
+                                                + size);
+        }
+
+        private void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                flush();
+            }
+            finally
+            {
+                channel.close();
+            }
+        }
+    }
+
+    /** Reads length prefixed records back from a run file. */
+    private final class RunReader implements Iterator<T>, Closeable
+    {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        RunReader(Path run) throws IOException
+        {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return fill(Integer.BYTES);
+        }
+
+        @Override
+        public T next()
+        {
+            if (!fill(Integer.BYTES))
+                throw new NoSuchElementException();
+            int size = buffer.getInt();
+            if (!fill(size))
+                throw new IllegalStateException("Truncated run file");
+
+            int limit = buffer.limit();
+            buffer.limit(buffer.position() + size);
+            T record = codec.decode(buffer.slice());
+            buffer.position(buffer.limit());
+            buffer.limit(limit);
+            return record;
+        }
+
+        /** Makes sure at least BYTES bytes are buffered. Returns false if the file ends first. */
+        private boolean fill(int bytes)
+        {
+            if (buffer.remaining() >= bytes)
+                return true;
+            try
+            {
+                if (buffer.capacity() < bytes)
+                {
+                    ByteBuffer larger = ByteBuffer.allocateDirect(bytes);
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+                else
+                {
+                    buffer.compact();
+                }
+                while (buffer.position() < bytes)
+                    if (channel.read(buffer) < 0)
+                        break;
+                buffer.flip();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.remaining() >= bytes;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            channel.close();
+        }
+    }
+}
@@ -1,25 +1,393 @@
 package main.com.acscooter.algorithms;
 
-import main.com.acscooter.datastructures.BinaryHeap;
-import main.com.acscooter.datastructures.LinkedList;
-
+import java.util.Comparator;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Created by antares on 7/30/15.
+ * @author      Antares Chen
+ * @since       2015-07-30
+ *
+ * Heap sort treats the array as a binary max-heap stored in level order, where the children of index i live at
+ * 2i + 1 and 2i + 2. The sort happens in two phases. First the array is turned into a heap from the bottom up by
+ * sifting down every internal node, which takes O(n) time (the bottom half of the nodes are leaves and cost nothing,
+ * the quarter above them cost one level each, and so on). Then the max, which sits at the root, is swapped with the
+ * last element of the heap, the heap shrinks by one, and the new root is sifted down to restore the heap. After n - 1
+ * of those the array is sorted. Every step is O(log n) no matter what the input looks like, and the only extra memory
+ * is a couple of local variables, which is why Quicksort falls back to it when its recursion runs too deep.
+ *
+ * The textbook sift down compares the two children with each other and then the larger one with the element being
+ * sifted, two comparisons per level. But the element being sifted in the second phase was just taken from the bottom
+ * of the heap, so it almost always ends up back near the bottom. Floyd's bottom-up variant takes advantage of this: it
+ * walks the path of larger children all the way down to a leaf, moving each one up a level, and then climbs back up
+ * from the leaf until it finds where the element belongs. The walk down costs one comparison per level and the climb
+ * back up is usually one or two, which brings the sort from about 2n lg n comparisons down to about n lg n.
+ *
+ * Arrays and RandomAccess lists are sorted in place and nothing is boxed or allocated. Any other list is copied into
+ * an array first, since heap sort jumps around far too much to work on a linked list. The sort is not stable.
  */
 public class HeapSort extends AbstractSort
 {
+    /**
+     * Heap sorts ARRAY in place.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        return sort(array, Comparator.<T>naturalOrder());
+    }
 
+    /**
+     * Heap sorts ARRAY in place, ordering elements with COMPARATOR.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        long start = begin(array.length);
+        metrics.moved(sort(array, 0, array.length, counted(comparator)));
+        end(start);
+        return array;
+    }
+
+    /**
+     * Heap sorts LIST in place. See sort(List, Comparator).
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
     @Override
     public <T extends Comparable<T>> List<T> sort(List<T> list)
     {
-        BinaryHeap<T> heap = new BinaryHeap<>(list);
-        LinkedList<T> sorted = new LinkedList<>();
+        return sort(list, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Heap sorts LIST, ordering elements with COMPARATOR. RandomAccess lists are sorted in place through get and set;
+     * other lists are copied into an array, sorted and written back.
+     * @param list
+     * @param comparator
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T> List<T> sort(List<T> list, Comparator<? super T> comparator)
+    {
+        if (!(list instanceof RandomAccess))
+            return super.sort(list, comparator);
+
+        long start = begin(list.size());
+        comparator = counted(comparator);
+        int size = list.size();
+        long moves = 0;
+        for (int i = size / 2 - 1; i >= 0; i --)
+            moves += siftDown(list, i, size, comparator);
+
+        for (int end = size - 1; end > 0; end --)
+        {
+            list.set(end, list.set(0, list.get(end)));
+            moves += 2 + siftDown(list, 0, end, comparator);
+        }
+        metrics.moved(moves);
+        end(start);
+        return list;
+    }
+
+    /** Floyd's bottom-up sift down on a RandomAccess list. See the array version. */
+    private static <T> int siftDown(List<T> list, int node, int size, Comparator<? super T> comparator)
+    {
+        T value = list.get(node);
+        int top = node;
+        int moves = 1;
+        int child;
+        while ((child = 2 * node + 1) < size)
+        {
+            if (child + 1 < size && comparator.compare(list.get(child), list.get(child + 1)) < 0)
+                child ++;
+            list.set(node, list.get(child));
+            node = child;
+            moves ++;
+        }
+
+        int parent;
+        while (node > top && comparator.compare(list.get(parent = (node - 1) / 2), value) < 0)
+        {
+            list.set(node, list.get(parent));
+            node = parent;
+            moves ++;
+        }
+        list.set(node, value);
+        return moves;
+    }
+
+    /**
+     * Heap sorts the range [low, high) of ARRAY in place using O(1) extra memory. The range is first turned into a
+     * max-heap rooted at LOW, then the max is repeatedly swapped to the end of the shrinking heap.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     * @return the number of element moves made, for SortMetrics
+     */
+    static <T> long sort(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        int size = high - low;
+        long moves = 0;
+        for (int i = size / 2 - 1; i >= 0; i --)
+            moves += siftDown(array, low, i, size, comparator);
+
+        for (int end = size - 1; end > 0; end --)
+        {
+            Quicksort.swap(array, low, low + end);
+            moves += 2 + siftDown(array, low, 0, end, comparator);
+        }
+        return moves;
+    }
+
+    /**
+     * Floyd's bottom-up sift down of the element at heap index NODE in a heap of SIZE elements stored at
+     * ARRAY[offset ...]. The hole left by the element is first walked all the way down the path of larger children,
+     * pulling each of them up a level, and the element is then walked back up from the bottom to where it belongs.
+     * @return the number of element moves made
+     */
+    private static <T> int siftDown(T[] array, int offset, int node, int size, Comparator<? super T> comparator)
+    {
+        T value = array[offset + node];
+        int top = node;
+        int moves = 1;
+        int child;
+        while ((child = 2 * node + 1) < size)
+        {
+            if (child + 1 < size && comparator.compare(array[offset + child], array[offset + child + 1]) < 0)
+                child ++;
+            array[offset + node] = array[offset + child];
+            node = child;
+            moves ++;
+        }
+
+        int parent;
+        while (node > top && comparator.compare(array[offset + (parent = (node - 1) / 2)], value) < 0)
+        {
+            array[offset + node] = array[offset + parent];
+            node = parent;
+            moves ++;
+        }
+        array[offset + node] = value;
+        return moves;
+    }
+
+    /**
+     * Heap sorts ARRAY in place without boxing a single int.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public int[] sort(int[] array)
+    {
+        long start = begin(array.length);
+        sort(array, 0, array.length);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Heap sorts ARRAY in place without boxing a single long.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public long[] sort(long[] array)
+    {
+        long start = begin(array.length);
+        sort(array, 0, array.length);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Heap sorts ARRAY in place without boxing a single float.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public float[] sort(float[] array)
+    {
+        long start = begin(array.length);
+        int high = moveNaNsToEnd(array, 0, array.length);
+        sort(array, 0, high);
+        orderZeros(array, 0, high);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Heap sorts ARRAY in place without boxing a single double.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public double[] sort(double[] array)
+    {
+        long start = begin(array.length);
+        int high = moveNaNsToEnd(array, 0, array.length);
+        sort(array, 0, high);
+        orderZeros(array, 0, high);
+        end(start);
+        return array;
+    }
+
+    /** Heap sorts the range [low, high) of ARRAY in place. */
+    static void sort(int[] array, int low, int high)
+    {
+        int size = high - low;
+        for (int i = size / 2 - 1; i >= 0; i --)
+            siftDown(array, low, i, size);
+
+        for (int end = size - 1; end > 0; end --)
+        {
+            Quicksort.swap(array, low, low + end);
+            siftDown(array, low, 0, end);
+        }
+    }
+
+    /** Floyd's bottom-up sift down of the element at heap index NODE. See the generic version. */
+    private static void siftDown(int[] array, int offset, int node, int size)
+    {
+        int value = array[offset + node];
+        int top = node;
+        int child;
+        while ((child = 2 * node + 1) < size)
+        {
+            if (child + 1 < size && array[offset + child] < array[offset + child + 1])
+                child ++;
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
+
+        int parent;
+        while (node > top && array[offset + (parent = (node - 1) / 2)] < value)
+        {
+            array[offset + node] = array[offset + parent];
+            node = parent;
+        }
+        array[offset + node] = value;
+    }
+
+    /** Heap sorts the range [low, high) of ARRAY in place. */
+    static void sort(long[] array, int low, int high)
+    {
+        int size = high - low;
+        for (int i = size / 2 - 1; i >= 0; i --)
+            siftDown(array, low, i, size);
+
+        for (int end = size - 1; end > 0; end --)
+        {
+            Quicksort.swap(array, low, low + end);
+            siftDown(array, low, 0, end);
+        }
+    }
+
+    /** Floyd's bottom-up sift down of the element at heap index NODE. See the generic version. */
+    private static void siftDown(long[] array, int offset, int node, int size)
+    {
+        long value = array[offset + node];
+        int top = node;
+        int child;
+        while ((child = 2 * node + 1) < size)
+        {
+            if (child + 1 < size && array[offset + child] < array[offset + child + 1])
+                child ++;
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
+
+        int parent;
+        while (node > top && array[offset + (parent = (node - 1) / 2)] < value)
+        {
+            array[offset + node] = array[offset + parent];
+            node = parent;
+        }
+        array[offset + node] = value;
+    }
+
+    /** Heap sorts the range [low, high) of ARRAY in place. */
+    static void sort(float[] array, int low, int high)
+    {
+        int size = high - low;
+        for (int i = size / 2 - 1; i >= 0; i --)
+            siftDown(array, low, i, size);
+
+        for (int end = size - 1; end > 0; end --)
+        {
+            Quicksort.swap(array, low, low + end);
+            siftDown(array, low, 0, end);
+        }
+    }
+
+    /** Floyd's bottom-up sift down of the element at heap index NODE. See the generic version. */
+    private static void siftDown(float[] array, int offset, int node, int size)
+    {
+        float value = array[offset + node];
+        int top = node;
+        int child;
+        while ((child = 2 * node + 1) < size)
+        {
+            if (child + 1 < size && array[offset + child] < array[offset + child + 1])
+                child ++;
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
 
-        for (int i = 0; i < heap.size(); i ++)
-            sorted.add(0, heap.remove());
+        int parent;
+        while (node > top && array[offset + (parent = (node - 1) / 2)] < value)
+        {
+            array[offset + node] = array[offset + parent];
+            node = parent;
+        }
+        array[offset + node] = value;
+    }
+
+    /** Heap sorts the range [low, high) of ARRAY in place. */
+    static void sort(double[] array, int low, int high)
+    {
+        int size = high - low;
+        for (int i = size / 2 - 1; i >= 0; i --)
+            siftDown(array, low, i, size);
+
+        for (int end = size - 1; end > 0; end --)
+        {
+            Quicksort.swap(array, low, low + end);
+            siftDown(array, low, 0, end);
+        }
+    }
+
+    /** Floyd's bottom-up sift down of the element at heap index NODE. See the generic version. */
+    private static void siftDown(double[] array, int offset, int node, int size)
+    {
+        double value = array[offset + node];
+        int top = node;
+        int child;
+        while ((child = 2 * node + 1) < size)
+        {
+            if (child + 1 < size && array[offset + child] < array[offset + child + 1])
+                child ++;
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
 
-        return sorted;
+        int parent;
+        while (node > top && array[offset + (parent = (node - 1) / 2)] < value)
+        {
+            array[offset + node] = array[offset + parent];
+            node = parent;
+        }
+        array[offset + node] = value;
     }
 }
@@ -0,0 +1,406 @@
+package main.com.acscooter.algorithms;
+
+import main.com.acscooter.datastructures.BinaryHeap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * When data trickles in a batch at a time and somebody always wants to look at it in order, the obvious thing to do
+ * is to append the batch and sort everything again. That costs O(n log n) per batch and O(n^2 log n) overall, which
+ * gets old fast. IncrementalSort borrows the trick log-structured merge trees use instead. Every batch is sorted on its
+ * own and kept as a sorted run. Runs are kept oldest first, and whenever a run is no more than twice the size of the
+ * newer run next to it, the two are merged into one. Run sizes therefore grow geometrically from newest to oldest,
+ * there are only O(log n) of them at any time, and each element takes part in O(log n) merges over its lifetime.
+ *
+ * Merges happen in the background on an Executor, so adding a batch only costs sorting the batch. The runs being
+ * merged stay readable until the merged run replaces them, and readers never have to wait for a merge. Reading is
+ * done through a lazily merged iterator: the head of every run sits in a BinaryHeap and each call to next pops the
+ * smallest and pushes its successor, so looking at the first few elements costs O(k log r) for r runs rather than
+ * a full merge. Ties go to the older run, so with a stable batch sort the whole thing is stable.
+ *
+ * Usually the consumer also wants to know which part of the sorted view will never change. That is only something the
+ * producer knows, so it says so with advance: a watermark is a promise that no future element will compare less than
+ * it. Every element up to the watermark is then final and drainFinal hands it over and forgets it. Closing the sorter
+ * promises there are no more batches at all, which makes everything final.
+ * @param <T> the element type
+ */
+public class IncrementalSort<T> implements Iterable<T>
+{
+    /** The order to sort elements in. */
+    private final Comparator<? super T> comparator;
+    /** Sorts each incoming batch. */
+    private final AbstractSort batchSort;
+    /** Runs the background merges. */
+    private final Executor executor;
+
+    /** The sorted runs, oldest first. Guarded by this. */
+    private final List<Run> runs = new ArrayList<>();
+    /** The latest watermark, valid if hasWatermark is set. */
+    private T watermark;
+    private boolean hasWatermark;
+    /** Set once no more batches will arrive. */
+    private boolean closed;
+    /** The number of merges that have been scheduled but haven't finished. */
+    private int pendingMerges;
+    /** The first exception thrown by a background merge, rethrown to the next caller. */
+    private RuntimeException failure;
+
+    /**
+     * Creates an incremental sorter that sorts batches with TimSort and merges runs on the common ForkJoinPool.
+     * @param comparator
+     */
+    public IncrementalSort(Comparator<? super T> comparator)
+    {
+        this(comparator, new TimSort(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an incremental sorter.
+     * @param comparator the order to sort elements in
+     * @param batchSort sorts each incoming batch
+     * @param executor runs the background merges; Runnable::run merges on the calling thread
+     */
+    public IncrementalSort(Comparator<? super T> comparator, AbstractSort batchSort, Executor executor)
+    {
+        this.comparator = comparator;
+        this.batchSort = batchSort;
+        this.executor = executor;
+    }
+
+    /**
+     * Sorts BATCH and adds it as a new run. The batch is sorted on the calling thread before the lock is taken, so
+     * several threads can add batches at once.
+     * @param batch
+     * @throws IllegalStateException if the sorter is closed
+     * @throws IllegalArgumentException if BATCH holds an element below the watermark
+     */
+    public void add(Collection<? extends T> batch)
+    {
+        if (batch.isEmpty())
+            return;
+
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[]) batch.toArray();
+        batchSort.sort(elements, comparator);
+
+        synchronized (this)
+        {
+            checkFailure();
+            if (closed)
+                throw new IllegalStateException("Sorter is closed");
+            if (hasWatermark && comparator.compare(elements[0], watermark) < 0)
+                throw new IllegalArgumentException("Element below the watermark: " + elements[0]);
+            runs.add(new Run(elements, 0));
+            scheduleMerges();
+        }
+    }
+
+    /**
+     * Promises that no element added from now on will compare less than WATERMARK. Every element held that doesn't
+     * compare greater than it becomes final.
+     * @param watermark
+     * @throws IllegalArgumentException if WATERMARK is below the previous one
+     */
+    public synchronized void advance(T watermark)
+    {
+        if (hasWatermark && comparator.compare(watermark, this.watermark) < 0)
+            throw new IllegalArgumentException("Watermark moved backwards: " + watermark);
+        this.watermark = watermark;
+        hasWatermark = true;
+    }
+
+    /** Promises that no more batches will be added, which makes every element held final. */
+    public synchronized void close()
+    {
+        closed = true;
+    }
+
+    /**
+     * Hands every final element to SINK in sorted order and removes it from the sorter. SINK is called while the
+     * sorter is locked, so it shouldn't call back into it.
+     * @param sink
+     * @return the number of elements handed over
+     */
+    public synchronized int drainFinal(Consumer<? super T> sink)
+    {
+        checkFailure();
+        if (!closed && !hasWatermark)
+            return 0;
+
+        List<Cursor> cursors = cursors();
+        MergedIterator merged = new MergedIterator(cursors);
+        int drained = 0;
+        while (merged.hasNext() && (closed || comparator.compare(merged.peek(), watermark) <= 0))
+        {
+            sink.accept(merged.next());
+            drained ++;
+        }
+
+        for (Cursor cursor : cursors)
+            cursor.run.start = cursor.position;
+        runs.removeIf(run -> !run.merging && run.start == run.elements.length);
+        return drained;
+    }
+
+    /**
+     * Returns an iterator over every element currently held, in sorted order. The iterator works on a snapshot of the
+     * runs, so batches added or drained afterwards don't show up in it, and it merges lazily as it is advanced.
+     * @return the merged iterator
+     */
+    @Override
+    public synchronized Iterator<T> iterator()
+    {
+        checkFailure();
+        return new MergedIterator(cursors());
+    }
+
+    /** Returns the number of elements currently held. */
+    public synchronized long size()
+    {
+        long size = 0;
+        for (Run run : runs)
+            size += run.elements.length - run.start;
+        return size;
+    }
+
+    /** Returns the number of sorted runs currently held. */
+    public synchronized int runCount()
+    {
+        return runs.size();
+    }
+
+    /**
+     * Blocks until every background merge scheduled so far has finished.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void awaitMerges() throws InterruptedException
+    {
+        while (pendingMerges > 0)
+            wait();
+        checkFailure();
+    }
+
+    /**
+     * Schedules a merge for every pair of neighbouring runs where the older run is no more than twice the size of the
+     * newer one and neither is already being merged. The pairs are picked before any merge is handed to the executor,
+     * since an executor that runs tasks on the spot would change the runs under our feet. Must hold the lock.
+     */
+    private void scheduleMerges()
+    {
+        List<Run> pairs = new ArrayList<>();
+        for (int i = runs.size() - 1; i > 0; i --)
+        {
+            Run older = runs.get(i - 1);
+            Run newer = runs.get(i);
+            if (older.merging || newer.merging || older.size() > 2 * newer.size())
+                continue;
+
+            older.merging = true;
+            newer.merging = true;
+            pendingMerges ++;
+            pairs.add(older);
+            pairs.add(newer);
+            i --;
+        }
+
+        for (int i = 0; i < pairs.size(); i += 2)
+        {
+            Run older = pairs.get(i);
+            Run newer = pairs.get(i + 1);
+            executor.execute(() -> merge(older, newer));
+        }
+    }
+
+    /**
+     * Merges the neighbouring runs OLDER and NEWER and swaps the result in for them. Elements drained from either run
+     * while the merge was running are exactly the smallest ones, so they are skipped by moving the start of the merged
+     * run forward by as many.
+     */
+    private void merge(Run older, Run newer)
+    {
+        int olderStart;
+        int newerStart;
+        synchronized (this)
+        {
+            olderStart = older.start;
+            newerStart = newer.start;
+        }
+
+        T[] merged;
+        try
+        {
+            merged = merge(older.elements, olderStart, newer.elements, newerStart, comparator);
+        }
+        catch (RuntimeException e)
+        {
+            synchronized (this)
+            {
+                if (failure == null)
+                    failure = e;
+                older.merging = false;
+                newer.merging = false;
+                pendingMerges --;
+                notifyAll();
+            }
+            return;
+        }
+
+        synchronized (this)
+        {
+            int index = runs.indexOf(older);
+            runs.set(index, new Run(merged, (older.start - olderStart) + (newer.start - newerStart)));
+            runs.remove(index + 1);
+            runs.removeIf(run -> !run.merging && run.start == run.elements.length);
+            pendingMerges --;
+            scheduleMerges();
+            notifyAll();
+        }
+    }
+
+    /** Stably merges LEFT[leftStart ...] with RIGHT[rightStart ...] into a new array. Ties go to LEFT. */
+    private static <T> T[] merge(T[] left, int leftStart, T[] right, int rightStart, Comparator<? super T> comparator)
+    {
+        @SuppressWarnings("unchecked")
+        T[] merged = (T[]) new Object[(left.length - leftStart) + (right.length - rightStart)];
+        int i = leftStart;
+        int j = rightStart;
+        int k = 0;
+        while (i < left.length && j < right.length)
+            merged[k ++] = comparator.compare(right[j], left[i]) < 0 ? right[j ++] : left[i ++];
+        System.arraycopy(left, i, merged, k, left.length - i);
+        System.arraycopy(right, j, merged, k + left.length - i, right.length - j);
+        return merged;
+    }
+
+    /** Returns a fresh cursor at the start of every run. Must hold the lock. */
+    private List<Cursor> cursors()
+    {
+        List<Cursor> cursors = new ArrayList<>(runs.size());
+        for (Run run : runs)
+            cursors.add(new Cursor(run, cursors.size()));
+        return cursors;
+    }
+
+    /** Rethrows the failure of a background merge, if there was one. Must hold the lock. */
+    private void checkFailure()
+    {
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * A sorted run. The elements array never changes once the run exists; draining only moves START forward. Merging
+     * is set while the run is being merged into its neighbour.
+     */
+    private final class Run
+    {
+        private final T[] elements;
+        private int start;
+        private boolean merging;
+
+        Run(T[] elements, int start)
+        {
+            this.elements = elements;
+            this.start = start;
+        }
+
+        int size()
+        {
+            return elements.length - start;
+        }
+    }
+
+    /** A read position in a run. ORDER is the run's age, used to break ties. */
+    private final class Cursor
+    {
+        private final Run run;
+        private final T[] elements;
+        private final int order;
+        private int position;
+
+        Cursor(Run run, int order)
+        {
+            this.run = run;
+            this.elements = run.elements;
+            this.order = order;
+            this.position = run.start;
+        }
+    }
+
+    /**
+     * The smallest unconsumed element of a cursor. Entries compare in reverse so that the max-heap hands back the
+     * smallest element first, and elements that compare equal come out oldest run first.
+     */
+    private final class Head implements Comparable<Head>
+    {
+        private T element;
+        private final Cursor cursor;
+
+        Head(Cursor cursor)
+        {
+            this.cursor = cursor;
+            this.element = cursor.elements[cursor.position];
+        }
+
+        @Override
+        public int compareTo(Head other)
+        {
+            int compare = comparator.compare(other.element, element);
+            return compare != 0 ? compare : Integer.compare(other.cursor.order, cursor.order);
+        }
+    }
+
+    /** Lazily merges a set of cursors through a BinaryHeap of their heads. */
+    private final class MergedIterator implements Iterator<T>
+    {
+        private final BinaryHeap<Head> frontier = new BinaryHeap<>();
+
+        MergedIterator(List<Cursor> cursors)
+        {
+            for (Cursor cursor : cursors)
+                if (cursor.position < cursor.elements.length)
+                    frontier.insert(new Head(cursor));
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !frontier.isEmpty();
+        }
+
+        /** Returns the element next would return without consuming it. */
+        T peek()
+        {
+            return frontier.findMax().element;
+        }
+
+        @Override
+        public T next()
+        {
+            if (frontier.isEmpty())
+                throw new NoSuchElementException();
+
+            Head head = frontier.removeMax();
+            T element = head.element;
+            Cursor cursor = head.cursor;
+            cursor.position ++;
+            if (cursor.position < cursor.elements.length)
+            {
+                head.element = cursor.elements[cursor.position];
+                frontier.insert(head);
+            }
+            return element;
+        }
+    }
+}
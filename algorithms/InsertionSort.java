@@ -1,5 +1,6 @@
 package main.com.acscooter.algorithms;
 
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -36,19 +37,127 @@ public class InsertionSort extends AbstractSort
     @Override
     public <T extends Comparable<T>> List<T> sort(List<T> list)
     {
+        long start = begin(list.size());
+        long comparisons = 0;
+        long moves = 0;
         for (int i = 1; i < list.size(); i ++)
         {
-            T key = list.get(0);
+            T key = list.get(i);
             int tempIndex = i - 1;
-            T temp = list.get(tempIndex);
-            while (tempIndex >= 0 && key.compareTo(list.get(tempIndex)) > 0)
+            while (tempIndex >= 0)
             {
-                list.set(i, temp);
-                list.set(tempIndex, key);
+                comparisons ++;
+                if (key.compareTo(list.get(tempIndex)) >= 0)
+                    break;
+                list.set(tempIndex + 1, list.get(tempIndex));
                 tempIndex --;
             }
+            if (tempIndex + 1 != i)
+            {
+                list.set(tempIndex + 1, key);
+                moves += i - tempIndex;
+            }
         }
 
+        metrics.compared(comparisons);
+        metrics.moved(moves);
+        end(start);
         return list;
     }
+
+    /**
+     * Insertion sorts the range [low, high) of ARRAY in place. Rather than swapping the key down one slot at a time,
+     * larger elements are shifted right and the key is written once into the hole. This is what the introsort engine
+     * in Quicksort uses to finish off small ranges.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     * @return the number of element moves made, for SortMetrics
+     */
+    static <T> long sort(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        long moves = 0;
+        for (int i = low + 1; i < high; i ++)
+        {
+            T key = array[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(key, array[j]) < 0)
+            {
+                array[j + 1] = array[j];
+                j --;
+            }
+            if (j + 1 != i)
+            {
+                array[j + 1] = key;
+                moves += i - j;
+            }
+        }
+        return moves;
+    }
+
+    /** Insertion sorts the range [low, high) of ARRAY in place. */
+    static void sort(int[] array, int low, int high)
+    {
+        for (int i = low + 1; i < high; i ++)
+        {
+            int key = array[i];
+            int j = i - 1;
+            while (j >= low && key < array[j])
+            {
+                array[j + 1] = array[j];
+                j --;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    /** Insertion sorts the range [low, high) of ARRAY in place. */
+    static void sort(long[] array, int low, int high)
+    {
+        for (int i = low + 1; i < high; i ++)
+        {
+            long key = array[i];
+            int j = i - 1;
+            while (j >= low && key < array[j])
+            {
+                array[j + 1] = array[j];
+                j --;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    /** Insertion sorts the range [low, high) of ARRAY in place. */
+    static void sort(float[] array, int low, int high)
+    {
+        for (int i = low + 1; i < high; i ++)
+        {
+            float key = array[i];
+            int j = i - 1;
+            while (j >= low && key < array[j])
+            {
+                array[j + 1] = array[j];
+                j --;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    /** Insertion sorts the range [low, high) of ARRAY in place. */
+    static void sort(double[] array, int low, int high)
+    {
+        for (int i = low + 1; i < high; i ++)
+        {
+            double key = array[i];
+            int j = i - 1;
+            while (j >= low && key < array[j])
+            {
+                array[j + 1] = array[j];
+                j --;
+            }
+            array[j + 1] = key;
+        }
+    }
 }
@@ -0,0 +1,255 @@
+package main.com.acscooter.algorithms;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Merging k sorted sources into one is the last step of a lot of pipelines: shards of an index, partitions of a
+ * table, the runs of ExternalSort. The textbook way is to keep the head of every source in a heap and pop the smallest
+ * one, which is what IncrementalSort does with BinaryHeap and what ExternalSort used to do. It works, but every pop
+ * sifts the replacement down the heap with two comparisons per level, so it costs about 2 lg k comparisons per element.
+ *
+ * KWayMerge uses a loser tree (Knuth, TAOCP vol. 3, 5.4.1) instead. Picture a knockout tournament between the heads of
+ * the sources, with the sources as the leaves of a complete binary tree. Every internal node remembers the loser of the
+ * match played there, and the overall winner is kept on the side. Once the winner is taken, its source supplies a new
+ * head, and only the matches on the path from that leaf up to the root have to be replayed, each against the loser
+ * stored there. That is exactly ceil(lg k) comparisons per element and no more, and the tree is just an int array of k
+ * source numbers. A source that runs dry is treated as larger than everything, so it loses every match and sinks out
+ * of the way. Ties go to the lower numbered source, which makes the merge stable.
+ *
+ * Elements are pulled from each source in batches of batchSize and read from the batch afterwards. That keeps the
+ * tight loop away from the sources' own iterators, and it lets sources backed by I/O do their work in bulk. Memory
+ * stays bounded at k batches no matter how long the sources are. With distinct set, elements that compare equal to
+ * the element returned just before them are dropped, so the merge of sorted, duplicate free sources is duplicate free.
+ * @param <T> the element type
+ */
+public class KWayMerge<T> implements Iterator<T>
+{
+    /** The default number of elements pulled from a source at a time. */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Comparator<? super T> comparator;
+    private final Iterator<? extends T>[] sources;
+    private final boolean distinct;
+    private final int batchSize;
+    private final int k;
+
+    /** The loser of the match at every internal node, with the overall winner in slot 0. */
+    private final int[] tree;
+    /** The batch of elements pulled from every source. */
+    private final Object[][] batches;
+    /** The position of the head of every source in its batch. */
+    private final int[] positions;
+    /** The number of elements in every batch. Zero once the source has run dry. */
+    private final int[] limits;
+
+    /**
+     * Creates a stable merge of SOURCES, each of which must be sorted according to COMPARATOR.
+     * @param sources
+     * @param comparator
+     */
+    public KWayMerge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator)
+    {
+        this(sources, comparator, DEFAULT_BATCH_SIZE, false);
+    }
+
+    /**
+     * Creates a merge of SOURCES.
+     * @param sources the sources to merge, each sorted according to COMPARATOR
+     * @param comparator the order of the sources and the merge
+     * @param batchSize the number of elements to pull from a source at a time
+     * @param distinct whether to drop elements that compare equal to the one returned before them
+     */
+    @SuppressWarnings("unchecked")
+    public KWayMerge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator, int batchSize,
+                     boolean distinct)
+    {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        this.comparator = comparator;
+        this.sources = (Iterator<? extends T>[]) sources.toArray(new Iterator<?>[sources.size()]);
+        this.batchSize = batchSize;
+        this.distinct = distinct;
+        this.k = this.sources.length;
+        this.tree = new int[Math.max(1, k)];
+        this.batches = new Object[k][];
+        this.positions = new int[k];
+        this.limits = new int[k];
+
+        for (int s = 0; s < k; s ++)
+            refill(s);
+        build();
+    }
+
+    /**
+     * Merges LISTS, each of which must be sorted according to COMPARATOR, into a new list. Ties go to the earlier list.
+     * @param lists
+     * @param comparator
+     * @param <T>
+     * @return the merged list
+     */
+    public static <T> List<T> mergeLists(List<? extends List<? extends T>> lists, Comparator<? super T> comparator)
+    {
+        int size = 0;
+        List<Iterator<? extends T>> sources = new ArrayList<>(lists.size());
+        for (List<? extends T> list : lists)
+        {
+            size += list.size();
+            sources.add(list.iterator());
+        }
+
+        List<T> merged = new ArrayList<>(size);
+        new KWayMerge<T>(sources, comparator).forEachRemaining(merged::add);
+        return merged;
+    }
+
+    /**
+     * Merges ARRAYS, each of which must be sorted according to COMPARATOR, into a new array of the same type. Ties go
+     * to the earlier array.
+     * @param arrays
+     * @param comparator
+     * @param <T>
+     * @return the merged array
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] mergeArrays(T[][] arrays, Comparator<? super T> comparator)
+    {
+        int size = 0;
+        List<Iterator<? extends T>> sources = new ArrayList<>(arrays.length);
+        for (T[] array : arrays)
+        {
+            size += array.length;
+            sources.add(Arrays.asList(array).iterator());
+        }
+
+        T[] merged = (T[]) Array.newInstance(arrays.getClass().getComponentType().getComponentType(), size);
+        KWayMerge<T> merge = new KWayMerge<>(sources, comparator);
+        for (int i = 0; i < size; i ++)
+            merged[i] = merge.next();
+        return merged;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return k > 0 && limits[tree[0]] > 0;
+    }
+
+    @Override
+    public T next()
+    {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        T element = pop();
+        if (distinct)
+            skipDuplicates(element);
+        return element;
+    }
+
+    /** Drops every upcoming element that compares equal to ELEMENT, so hasNext is accurate after a distinct next. */
+    private void skipDuplicates(T element)
+    {
+        while (hasNext() && comparator.compare(head(tree[0]), element) == 0)
+            pop();
+    }
+
+    /** Takes the winner's head, advances its source and replays the winner's path up the tree. */
+    private T pop()
+    {
+        int winner = tree[0];
+        T element = head(winner);
+        batches[winner][positions[winner] ++] = null;
+        if (positions[winner] == limits[winner])
+            refill(winner);
+
+        for (int node = (winner + k) >>> 1; node > 0; node >>>= 1)
+        {
+            if (beats(tree[node], winner))
+            {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+        return element;
+    }
+
+    /**
+     * Plays the initial tournament. Every leaf moves up until it reaches a node whose other side hasn't been played
+     * yet and waits there. The second arrival at a node plays the first, leaves the loser behind and moves on, so the
+     * one arrival that gets past the root is the overall winner.
+     */
+    private void build()
+    {
+        if (k == 0)
+            return;
+
+        Arrays.fill(tree, -1);
+        for (int s = 0; s < k; s ++)
+        {
+            int winner = s;
+            int node = (s + k) >>> 1;
+            while (node > 0)
+            {
+                if (tree[node] == -1)
+                {
+                    tree[node] = winner;
+                    winner = -1;
+                    break;
+                }
+                if (beats(tree[node], winner))
+                {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+                node >>>= 1;
+            }
+            if (winner != -1)
+                tree[0] = winner;
+        }
+    }
+
+    /** Returns if source A wins a match against source B. Dry sources lose, and ties go to the lower number. */
+    private boolean beats(int a, int b)
+    {
+        if (limits[a] == 0)
+            return false;
+        if (limits[b] == 0)
+            return true;
+        int compare = comparator.compare(head(a), head(b));
+        return compare < 0 || (compare == 0 && a < b);
+    }
+
+    /** Returns the head of source S. */
+    @SuppressWarnings("unchecked")
+    private T head(int s)
+    {
+        return (T) batches[s][positions[s]];
+    }
+
+    /** Pulls the next batch from source S, leaving its limit at zero if it has run dry. */
+    private void refill(int s)
+    {
+        Iterator<? extends T> source = sources[s];
+        if (batches[s] == null)
+            batches[s] = new Object[batchSize];
+        int limit = 0;
+        while (limit < batchSize && source.hasNext())
+            batches[s][limit ++] = source.next();
+        positions[s] = 0;
+        limits[s] = limit;
+        if (limit == 0)
+            batches[s] = null;
+    }
+}
@@ -1,6 +1,7 @@
 package main.com.acscooter.algorithms;
 
-import main.com.acscooter.datastructures.LinkedList;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -8,55 +9,114 @@ import java.util.List;
  * @since       2015-07-14
  * MediansQuicksort implements quicksort with the pivot chosen by the median
  * of medians algorithm. Medians are calculated using the quickselect algorithm.
+ * Primitive arrays get the same pivots, just without the moves reported.
  * Praise be to the CS gods: Blum, Floyd, Pratt, Rivest, and Tarjan.
  */
 public class MediansQuicksort extends Quicksort
 {
-    /** Returns a pivot of LIST via the median-of-medians algorithm. */
+    /** Returns the index of a pivot for the range [LOW, HIGH) of ARRAY via the
+     *  median-of-medians algorithm. The range is split into groups of five,
+     *  each group is insertion sorted and its median is swapped to the front of
+     *  the range. The same is then done to the block of medians until at most
+     *  five remain, so the whole thing happens in place. The moves this
+     *  costs are reported to the metrics listener. */
     @Override
-    protected <T extends Comparable<T>> T getPivot(List<T> list) {
-        if (list.size() <= 5)
-            return select(list, (int) Math.ceil(list.size() / 2.0));
-        LinkedList<T> medians = new LinkedList<>();
-
-        LinkedList<T> sublist = new LinkedList<>();
-        for (int i = 0; i < list.size(); i ++) {
-            sublist.add(list.get(i));
-
-            if (sublist.size() == 5 || i == list.size() - 1) {
-                medians.add(select(sublist,
-                            (int) Math.ceil(sublist.size() / 2.0)));
-                sublist = new LinkedList<>();
+    protected <T> int getPivot(T[] array, int low, int high,
+                               Comparator<? super T> comparator) {
+        long moves = 0;
+        while (high - low > 5) {
+            int medians = low;
+            for (int start = low; start < high; start += 5) {
+                int end = Math.min(start + 5, high);
+                moves += InsertionSort.sort(array, start, end, comparator);
+                swap(array, medians, start + (end - start - 1) / 2);
+                moves += 2;
+                medians ++;
             }
+            high = medians;
         }
 
-        return getPivot(medians);
+        moves += InsertionSort.sort(array, low, high, comparator);
+        metrics.moved(moves);
+        return low + (high - low - 1) / 2;
     }
 
 
-    /** Returns the median of LIST given POSITION based on the quickselect
-     *  algorithm. */
-    public <T extends Comparable<T>> T select(List<T> list, int position) {
-        LinkedList<T> less = new LinkedList<>();
-        LinkedList<T> equal = new LinkedList<>();
-        LinkedList<T> greater = new LinkedList<>();
-
-        T pivot = list.get((int) Math.ceil(list.size() / 2.0));
-
-        for (T element : list) {
-            if (element.compareTo(pivot) < 0)
-                less.add(element);
-            else if (element.compareTo(pivot) == 0)
-                equal.add(element);
-            else
-                greater.add(element);
+    @Override
+    protected int getPivot(int[] array, int low, int high) {
+        while (high - low > 5) {
+            int medians = low;
+            for (int start = low; start < high; start += 5) {
+                int end = Math.min(start + 5, high);
+                InsertionSort.sort(array, start, end);
+                swap(array, medians, start + (end - start - 1) / 2);
+                medians ++;
+            }
+            high = medians;
+        }
+
+        InsertionSort.sort(array, low, high);
+        return low + (high - low - 1) / 2;
+    }
+
+
+    @Override
+    protected int getPivot(long[] array, int low, int high) {
+        while (high - low > 5) {
+            int medians = low;
+            for (int start = low; start < high; start += 5) {
+                int end = Math.min(start + 5, high);
+                InsertionSort.sort(array, start, end);
+                swap(array, medians, start + (end - start - 1) / 2);
+                medians ++;
+            }
+            high = medians;
         }
 
-        if (position < less.size())
-            return select(less, position);
-        else if (position > less.size() + equal.size())
-            return select(greater, position - less.size() - equal.size());
-        else
-            return pivot;
+        InsertionSort.sort(array, low, high);
+        return low + (high - low - 1) / 2;
+    }
+
+
+    @Override
+    protected int getPivot(float[] array, int low, int high) {
+        while (high - low > 5) {
+            int medians = low;
+            for (int start = low; start < high; start += 5) {
+                int end = Math.min(start + 5, high);
+                InsertionSort.sort(array, start, end);
+                swap(array, medians, start + (end - start - 1) / 2);
+                medians ++;
+            }
+            high = medians;
+        }
+
+        InsertionSort.sort(array, low, high);
+        return low + (high - low - 1) / 2;
+    }
+
+
+    @Override
+    protected int getPivot(double[] array, int low, int high) {
+        while (high - low > 5) {
+            int medians = low;
+            for (int start = low; start < high; start += 5) {
+                int end = Math.min(start + 5, high);
+                InsertionSort.sort(array, start, end);
+                swap(array, medians, start + (end - start - 1) / 2);
+                medians ++;
+            }
+            high = medians;
+        }
+
+        InsertionSort.sort(array, low, high);
+        return low + (high - low - 1) / 2;
+    }
+
+    /** Returns the element that would be at POSITION if LIST were sorted.
+     *  LIST itself is left untouched; the work happens on a copy using the
+     *  introselect in Selection, which also offers the in place versions. */
+    public <T extends Comparable<T>> T select(List<T> list, int position) {
+        return Selection.select(new ArrayList<>(list), position);
     }
 }
@@ -3,6 +3,7 @@ package main.com.acscooter.algorithms;
 import main.com.acscooter.datastructures.LinkedList;
 
 import java.util.List;
+import java.util.ListIterator;
 
 /**
  * @author      Antares Chen
@@ -27,6 +28,12 @@ import java.util.List;
  */
 public class MergeSort extends AbstractSort
 {
+    /**
+     * Primitive ranges of at most this many elements are sorted by a sorting network. Larger leaves make the network
+     * faster than the merges it replaces only for ints and longs, and only barely, so all four types share one size.
+     */
+    private static final int NETWORK_THRESHOLD = 16;
+
     /**
      * Basic implementation of the Merge sort algorithm. There are some small optimizing tricks you can use such as
      * checking if subarrays are already sorted to halt needless recursion, but that implementation is left up to the
@@ -38,21 +45,43 @@ public class MergeSort extends AbstractSort
     @Override
     public  <T extends Comparable<T>> List<T> sort(List<T> list)
     {
+        long start = begin(list.size());
+        sort(list, 1);
+        end(start);
+        return list;
+    }
+
+    /**
+     * The recursive half of sort. DEPTH is only tracked so that it can be reported to the metrics listener.
+     */
+    private <T extends Comparable<T>> void sort(List<T> list, int depth)
+    {
+        metrics.descended(depth);
+        if (list.size() <= 1)
+            return;
+
         int middle = list.size() / 2;
         List<T> left = list.subList(0, middle);
         List<T> right = list.subList(middle, list.size());
 
-        sort(left);
-        sort(right);
+        sort(left, depth + 1);
+        sort(right, depth + 1);
 
         List<T> sorted = merge(left, right);
 
-        return sorted;
+        ListIterator<T> iterator = list.listIterator();
+        for (T element : sorted)
+        {
+            iterator.next();
+            iterator.set(element);
+        }
+        metrics.moved(2L * sorted.size());
     }
 
     /**
      * Merge algorithm that keeps two running cursors leftIndex and rightIndex, that runs along the list until it
-     * reaches its respective size-limit. This ensures that all elements are added to the merged list.
+     * reaches its respective size-limit. This ensures that all elements are added to the merged list. The comparisons
+     * are tallied locally and reported to the metrics listener once per merge.
      * @param left
      * @param right
      * @param <T>
@@ -62,9 +91,11 @@ public class MergeSort extends AbstractSort
     {
         int leftIndex = 0;
         int rightIndex = 0;
+        long comparisons = 0;
         LinkedList<T> merge = new LinkedList<>();
         while (leftIndex != left.size() && rightIndex != right.size())
         {
+            comparisons ++;
             if (left.get(leftIndex).compareTo(right.get(rightIndex)) <= 0)
             {
                 merge.add(left.get(leftIndex));
@@ -80,7 +111,216 @@ public class MergeSort extends AbstractSort
             merge.addAll(left.subList(leftIndex, left.size()));
         if (rightIndex != right.size())
             merge.addAll(right.subList(rightIndex, right.size()));
+        metrics.compared(comparisons);
+        metrics.allocated(left.size() + right.size());
         return merge;
     }
 
+    /**
+     * Merge sorts ARRAY using a single scratch array and no boxing.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public int[] sort(int[] array)
+    {
+        long start = begin(array.length);
+        metrics.allocated(array.length);
+        sort(array, array.clone(), 0, array.length, false);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Merge sorts ARRAY using a single scratch array and no boxing.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public long[] sort(long[] array)
+    {
+        long start = begin(array.length);
+        metrics.allocated(array.length);
+        sort(array, array.clone(), 0, array.length, false);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Merge sorts ARRAY using a single scratch array and no boxing.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public float[] sort(float[] array)
+    {
+        long start = begin(array.length);
+        metrics.allocated(array.length);
+        int high = moveNaNsToEnd(array, 0, array.length);
+        sort(array, array.clone(), 0, high, false);
+        orderZeros(array, 0, high);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Merge sorts ARRAY using a single scratch array and no boxing.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public double[] sort(double[] array)
+    {
+        long start = begin(array.length);
+        metrics.allocated(array.length);
+        int high = moveNaNsToEnd(array, 0, array.length);
+        sort(array, array.clone(), 0, high, false);
+        orderZeros(array, 0, high);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Merge sorts [low, high) by ping-ponging between ARRAY and BUFFER. The sorted range ends up in BUFFER when
+     * INTOBUFFER is set and in ARRAY otherwise.
+     */
+    private static void sort(int[] array, int[] buffer, int low, int high, boolean intoBuffer)
+    {
+        if (high - low <= NETWORK_THRESHOLD)
+        {
+            SortingNetworks.sort(array, low, high);
+            if (intoBuffer)
+                System.arraycopy(array, low, buffer, low, high - low);
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        sort(array, buffer, low, middle, !intoBuffer);
+        sort(array, buffer, middle, high, !intoBuffer);
+
+        if (intoBuffer)
+            merge(array, buffer, low, middle, high);
+        else
+            merge(buffer, array, low, middle, high);
+    }
+
+    /** Merges SOURCE[low, middle) and SOURCE[middle, high) into TARGET[low, high). */
+    private static void merge(int[] source, int[] target, int low, int middle, int high)
+    {
+        int i = low;
+        int j = middle;
+        int k = low;
+        while (i < middle && j < high)
+            target[k ++] = source[j] < source[i] ? source[j ++] : source[i ++];
+        System.arraycopy(source, i, target, k, middle - i);
+        System.arraycopy(source, j, target, k + (middle - i), high - j);
+    }
+
+    /**
+     * Merge sorts [low, high) by ping-ponging between ARRAY and BUFFER. The sorted range ends up in BUFFER when
+     * INTOBUFFER is set and in ARRAY otherwise.
+     */
+    private static void sort(long[] array, long[] buffer, int low, int high, boolean intoBuffer)
+    {
+        if (high - low <= NETWORK_THRESHOLD)
+        {
+            SortingNetworks.sort(array, low, high);
+            if (intoBuffer)
+                System.arraycopy(array, low, buffer, low, high - low);
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        sort(array, buffer, low, middle, !intoBuffer);
+        sort(array, buffer, middle, high, !intoBuffer);
+
+        if (intoBuffer)
+            merge(array, buffer, low, middle, high);
+        else
+            merge(buffer, array, low, middle, high);
+    }
+
+    /** Merges SOURCE[low, middle) and SOURCE[middle, high) into TARGET[low, high). */
+    private static void merge(long[] source, long[] target, int low, int middle, int high)
+    {
+        int i = low;
+        int j = middle;
+        int k = low;
+        while (i < middle && j < high)
+            target[k ++] = source[j] < source[i] ? source[j ++] : source[i ++];
+        System.arraycopy(source, i, target, k, middle - i);
+        System.arraycopy(source, j, target, k + (middle - i), high - j);
+    }
+
+    /**
+     * Merge sorts [low, high) by ping-ponging between ARRAY and BUFFER. The sorted range ends up in BUFFER when
+     * INTOBUFFER is set and in ARRAY otherwise.
+     */
+    private static void sort(float[] array, float[] buffer, int low, int high, boolean intoBuffer)
+    {
+        if (high - low <= NETWORK_THRESHOLD)
+        {
+            SortingNetworks.sort(array, low, high);
+            if (intoBuffer)
+                System.arraycopy(array, low, buffer, low, high - low);
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        sort(array, buffer, low, middle, !intoBuffer);
+        sort(array, buffer, middle, high, !intoBuffer);
+
+        if (intoBuffer)
+            merge(array, buffer, low, middle, high);
+        else
+            merge(buffer, array, low, middle, high);
+    }
+
+    /** Merges SOURCE[low, middle) and SOURCE[middle, high) into TARGET[low, high). */
+    private static void merge(float[] source, float[] target, int low, int middle, int high)
+    {
+        int i = low;
+        int j = middle;
+        int k = low;
+        while (i < middle && j < high)
+            target[k ++] = source[j] < source[i] ? source[j ++] : source[i ++];
+        System.arraycopy(source, i, target, k, middle - i);
+        System.arraycopy(source, j, target, k + (middle - i), high - j);
+    }
+
+    /**
+     * Merge sorts [low, high) by ping-ponging between ARRAY and BUFFER. The sorted range ends up in BUFFER when
+     * INTOBUFFER is set and in ARRAY otherwise.
+     */
+    private static void sort(double[] array, double[] buffer, int low, int high, boolean intoBuffer)
+    {
+        if (high - low <= NETWORK_THRESHOLD)
+        {
+            SortingNetworks.sort(array, low, high);
+            if (intoBuffer)
+                System.arraycopy(array, low, buffer, low, high - low);
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        sort(array, buffer, low, middle, !intoBuffer);
+        sort(array, buffer, middle, high, !intoBuffer);
+
+        if (intoBuffer)
+            merge(array, buffer, low, middle, high);
+        else
+            merge(buffer, array, low, middle, high);
+    }
+
+    /** Merges SOURCE[low, middle) and SOURCE[middle, high) into TARGET[low, high). */
+    private static void merge(double[] source, double[] target, int low, int middle, int high)
+    {
+        int i = low;
+        int j = middle;
+        int k = low;
+        while (i < middle && j < high)
+            target[k ++] = source[j] < source[i] ? source[j ++] : source[i ++];
+        System.arraycopy(source, i, target, k, middle - i);
+        System.arraycopy(source, j, target, k + (middle - i), high - j);
+    }
 }
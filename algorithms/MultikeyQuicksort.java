@@ -0,0 +1,375 @@
+package main.com.acscooter.algorithms;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Comparing two strings costs as much as their common prefix is long. That hardly matters for random words, but a
+ * list of URLs or file paths can share dozens of characters between neighbours, and a comparison sort spends most of
+ * its time reading those same prefixes again and again. Multikey quicksort (Bentley and Sedgewick, 1997) avoids that
+ * by partitioning on one character at a time. A range whose strings are known to agree on their first d characters
+ * is split three ways around the pivot's character at position d: strings whose character is smaller, equal or
+ * larger. The smaller and larger parts still agree on d characters and are sorted the same way, while the equal part
+ * now agrees on d + 1 and moves on to the next character. A string that has run out of characters counts as -1, so
+ * it sorts before every extension of it, and an equal part of such strings is done.
+ *
+ * Every character is therefore looked at O(1) times on average per level instead of once per comparison, which takes
+ * a sort of n keys with a common prefix of length p from O(p n log n) character reads down to about O(p n + n log n).
+ * It is the same tree that the ternary search trie behind Trie is built of, walked as a sort instead of a lookup.
+ * Small ranges are finished with insertion sort, comparing from the known common depth onwards. Like Quicksort we
+ * recurse on the smaller parts and loop on the largest one, so every recursive call at least halves the range and the
+ * stack stays O(log n) deep no matter how long the shared prefixes are.
+ *
+ * Three key types are supported. Strings sort as by String.compareTo. UTF-8 keys held in byte arrays or in the
+ * remaining bytes of ByteBuffers sort by unsigned byte, which for UTF-8 is the same as ordering by code point. Note
+ * that ByteBuffer.compareTo compares signed bytes, so it disagrees with this order for any byte from 0x80 on. Lists of
+ * anything other than Strings, and anything that comes with a Comparator, are handed to Quicksort.
+ */
+public class MultikeyQuicksort extends AbstractSort
+{
+    /** Ranges of at most this many keys are insertion sorted. */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /** The sort used for anything that can't be read a character at a time. */
+    private final AbstractSort fallback = new Quicksort();
+
+    /**
+     * Attaches METRICS to this sorter and to the fallback sort.
+     * @param metrics
+     */
+    @Override
+    public void setMetrics(SortMetrics metrics)
+    {
+        super.setMetrics(metrics);
+        fallback.setMetrics(metrics);
+    }
+
+    /**
+     * Sorts ARRAY in place, with multikey quicksort if it is a String array and with Quicksort otherwise.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        if (array instanceof String[])
+        {
+            sortStrings((String[]) array);
+            return array;
+        }
+        return fallback.sort(array);
+    }
+
+    /**
+     * Sorts ARRAY in place with Quicksort, since an arbitrary COMPARATOR can't be read a character at a time.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        return fallback.sort(array, comparator);
+    }
+
+    /**
+     * Sorts LIST with multikey quicksort when it only holds Strings and with Quicksort otherwise.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        for (T element : list)
+            if (!(element instanceof String))
+                return fallback.sort(list);
+        return (List<T>) sortStrings((List<String>) list);
+    }
+
+    /**
+     * Sorts LIST with multikey quicksort.
+     * @param list
+     * @return the same list, sorted
+     */
+    public List<String> sortStrings(List<String> list)
+    {
+        if (list.size() <= 1)
+            return list;
+        return copyBack(sortStrings(list.toArray(new String[list.size()])), list);
+    }
+
+    /**
+     * Sorts ARRAY in place with multikey quicksort. Strings are ordered as by String.compareTo.
+     * @param array
+     * @return the same array, sorted
+     */
+    public String[] sortStrings(String[] array)
+    {
+        long start = begin(array.length);
+        sort(array, 0, array.length, 0, 1);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with multikey quicksort. Keys are ordered lexicographically by unsigned byte, with a key
+     * that is a prefix of another going first.
+     * @param array
+     * @return the same array, sorted
+     */
+    public byte[][] sortBytes(byte[][] array)
+    {
+        long start = begin(array.length);
+        sort(array, 0, array.length, 0, 1);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with multikey quicksort. The key of a buffer is the bytes between its position and its
+     * limit, ordered lexicographically by unsigned byte. Only absolute reads are used, so no buffer's position, limit
+     * or mark changes.
+     * @param array
+     * @return the same array, sorted
+     */
+    public ByteBuffer[] sortBuffers(ByteBuffer[] array)
+    {
+        long start = begin(array.length);
+        sort(array, 0, array.length, 0, 1);
+        end(start);
+        return array;
+    }
+
+    /** Sorts [low, high) of ARRAY, all of whose strings agree on their first DEPTH characters. */
+    private void sort(String[] array, int low, int high, int depth, int level)
+    {
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            metrics.descended(level);
+            int pivot = median(charAt(array[low], depth), charAt(array[(low + high) >>> 1], depth),
+                               charAt(array[high - 1], depth));
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i < gt)
+            {
+                int c = charAt(array[i], depth);
+                if (c < pivot)
+                    Quicksort.swap(array, lt ++, i ++);
+                else if (c > pivot)
+                    Quicksort.swap(array, i, -- gt);
+                else
+                    i ++;
+            }
+
+            int less = lt - low;
+            int equal = pivot < 0 ? 0 : gt - lt;
+            int greater = high - gt;
+            if (less >= equal && less >= greater)
+            {
+                sort(array, gt, high, depth, level + 1);
+                if (pivot >= 0)
+                    sort(array, lt, gt, depth + 1, level + 1);
+                high = lt;
+            }
+            else if (greater >= equal)
+            {
+                sort(array, low, lt, depth, level + 1);
+                if (pivot >= 0)
+                    sort(array, lt, gt, depth + 1, level + 1);
+                low = gt;
+            }
+            else
+            {
+                sort(array, low, lt, depth, level + 1);
+                sort(array, gt, high, depth, level + 1);
+                low = lt;
+                high = gt;
+                depth ++;
+            }
+        }
+
+        for (int i = low + 1; i < high; i ++)
+            for (int j = i; j > low && compare(array[j - 1], array[j], depth) > 0; j --)
+                Quicksort.swap(array, j - 1, j);
+    }
+
+    /** Sorts [low, high) of ARRAY, all of whose keys agree on their first DEPTH bytes. */
+    private void sort(byte[][] array, int low, int high, int depth, int level)
+    {
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            metrics.descended(level);
+            int pivot = median(byteAt(array[low], depth), byteAt(array[(low + high) >>> 1], depth),
+                               byteAt(array[high - 1], depth));
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i < gt)
+            {
+                int c = byteAt(array[i], depth);
+                if (c < pivot)
+                    Quicksort.swap(array, lt ++, i ++);
+                else if (c > pivot)
+                    Quicksort.swap(array, i, -- gt);
+                else
+                    i ++;
+            }
+
+            int less = lt - low;
+            int equal = pivot < 0 ? 0 : gt - lt;
+            int greater = high - gt;
+            if (less >= equal && less >= greater)
+            {
+                sort(array, gt, high, depth, level + 1);
+                if (pivot >= 0)
+                    sort(array, lt, gt, depth + 1, level + 1);
+                high = lt;
+            }
+            else if (greater >= equal)
+            {
+                sort(array, low, lt, depth, level + 1);
+                if (pivot >= 0)
+                    sort(array, lt, gt, depth + 1, level + 1);
+                low = gt;
+            }
+            else
+            {
+                sort(array, low, lt, depth, level + 1);
+                sort(array, gt, high, depth, level + 1);
+                low = lt;
+                high = gt;
+                depth ++;
+            }
+        }
+
+        for (int i = low + 1; i < high; i ++)
+            for (int j = i; j > low && compare(array[j - 1], array[j], depth) > 0; j --)
+                Quicksort.swap(array, j - 1, j);
+    }
+
+    /** Sorts [low, high) of ARRAY, all of whose keys agree on their first DEPTH bytes. */
+    private void sort(ByteBuffer[] array, int low, int high, int depth, int level)
+    {
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            metrics.descended(level);
+            int pivot = median(byteAt(array[low], depth), byteAt(array[(low + high) >>> 1], depth),
+                               byteAt(array[high - 1], depth));
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i < gt)
+            {
+                int c = byteAt(array[i], depth);
+                if (c < pivot)
+                    Quicksort.swap(array, lt ++, i ++);
+                else if (c > pivot)
+                    Quicksort.swap(array, i, -- gt);
+                else
+                    i ++;
+            }
+
+            int less = lt - low;
+            int equal = pivot < 0 ? 0 : gt - lt;
+            int greater = high - gt;
+            if (less >= equal && less >= greater)
+            {
+                sort(array, gt, high, depth, level + 1);
+                if (pivot >= 0)
+                    sort(array, lt, gt, depth + 1, level + 1);
+                high = lt;
+            }
+            else if (greater >= equal)
+            {
+                sort(array, low, lt, depth, level + 1);
+                if (pivot >= 0)
+                    sort(array, lt, gt, depth + 1, level + 1);
+                low = gt;
+            }
+            else
+            {
+                sort(array, low, lt, depth, level + 1);
+                sort(array, gt, high, depth, level + 1);
+                low = lt;
+                high = gt;
+                depth ++;
+            }
+        }
+
+        for (int i = low + 1; i < high; i ++)
+            for (int j = i; j > low && compare(array[j - 1], array[j], depth) > 0; j --)
+                Quicksort.swap(array, j - 1, j);
+    }
+
+    /** Returns character D of STRING, or -1 once the string has run out. */
+    private static int charAt(String string, int d)
+    {
+        return d < string.length() ? string.charAt(d) : -1;
+    }
+
+    /** Returns byte D of KEY as an unsigned value, or -1 once the key has run out. */
+    private static int byteAt(byte[] key, int d)
+    {
+        return d < key.length ? key[d] & 0xff : -1;
+    }
+
+    /** Returns byte D of the remaining bytes of KEY as an unsigned value, or -1 once they have run out. */
+    private static int byteAt(ByteBuffer key, int d)
+    {
+        return d < key.remaining() ? key.get(key.position() + d) & 0xff : -1;
+    }
+
+    /** Compares A and B, which are known to agree on their first DEPTH characters. */
+    private static int compare(String a, String b, int depth)
+    {
+        int length = Math.min(a.length(), b.length());
+        for (int d = depth; d < length; d ++)
+        {
+            int difference = a.charAt(d) - b.charAt(d);
+            if (difference != 0)
+                return difference;
+        }
+        return a.length() - b.length();
+    }
+
+    /** Compares A and B by unsigned byte, given that they agree on their first DEPTH bytes. */
+    private static int compare(byte[] a, byte[] b, int depth)
+    {
+        int length = Math.min(a.length, b.length);
+        for (int d = depth; d < length; d ++)
+        {
+            int difference = (a[d] & 0xff) - (b[d] & 0xff);
+            if (difference != 0)
+                return difference;
+        }
+        return a.length - b.length;
+    }
+
+    /** Compares the remaining bytes of A and B by unsigned byte, given that they agree on their first DEPTH bytes. */
+    private static int compare(ByteBuffer a, ByteBuffer b, int depth)
+    {
+        int length = Math.min(a.remaining(), b.remaining());
+        for (int d = depth; d < length; d ++)
+        {
+            int difference = (a.get(a.position() + d) & 0xff) - (b.get(b.position() + d) & 0xff);
+            if (difference != 0)
+                return difference;
+        }
+        return a.remaining() - b.remaining();
+    }
+
+    /** Returns the median of A, B and C. */
+    private static int median(int a, int b, int c)
+    {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+}
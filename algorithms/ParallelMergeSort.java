@@ -0,0 +1,301 @@
+package main.com.acscooter.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * ParallelMergeSort is merge sort spread over a ForkJoinPool. Merge sort is about as embarrassingly parallel as
+ * sorting gets on the way down: the two halves of the array have nothing to do with each other, so they can be sorted
+ * on different cores. The catch is the way back up. A plain merge is sequential, which means the final merge alone
+ * costs O(n) on a single core no matter how many cores sorted the halves, and the whole thing can never run faster
+ * than that (Amdahl says hi).
+ *
+ * The fix is to merge in parallel too. Given two sorted runs A and B, take the middle element x of the larger run and
+ * binary search for where x would land in the other run. Everything before those two split points is smaller than
+ * everything after them, so the two halves of the merge are independent and can be forked. This gives the merge
+ * O(log^2 n) span and the whole sort O(log^3 n) span while keeping O(n log n) work (see CLRS chapter 27).
+ *
+ * Memory wise, a single scratch buffer the size of the input is allocated per sort call and every level of recursion
+ * ping-pongs between the input and the buffer instead of allocating its own merge target. Ranges at or below the
+ * sequential cutoff are sorted with a plain sequential merge sort on the same pair of arrays. Like every merge sort
+ * worth its salt, the sort is stable.
+ *
+ * Comparisons run on every thread of the pool at once, so they are counted in a LongAdder and the metrics listener
+ * hears the total from the calling thread when the sort is done. Moves are not reported.
+ */
+public class ParallelMergeSort extends AbstractSort
+{
+    /** The default size below which ranges are sorted and merged sequentially. */
+    public static final int DEFAULT_CUTOFF = 8192;
+    /** Ranges of at most this many elements are insertion sorted by the sequential merge sort. */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /** The pool that runs the sort. */
+    private final ForkJoinPool pool;
+    /** Ranges of at most this many elements are handled sequentially. */
+    private final int cutoff;
+
+    /** Creates a parallel merge sort that runs on the common pool with the default cutoff. */
+    public ParallelMergeSort()
+    {
+        this(ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+
+    /**
+     * Creates a parallel merge sort that runs on POOL and switches to sequential sorting and merging once a range is
+     * at most CUTOFF elements long.
+     * @param pool
+     * @param cutoff
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int cutoff)
+    {
+        if (cutoff < 1)
+            throw new IllegalArgumentException("Cutoff must be positive: " + cutoff);
+        this.pool = pool;
+        this.cutoff = cutoff;
+    }
+
+    /**
+     * Sorts ARRAY in place.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        return sort(array, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts ARRAY in place, ordering elements with COMPARATOR.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        long start = begin(array.length);
+        if (array.length > 1)
+        {
+            LongAdder comparisons = new LongAdder();
+            metrics.allocated(array.length);
+            T[] buffer = Arrays.copyOf(array, array.length);
+            pool.invoke(new SortTask<>(array, buffer, 0, array.length, false, counted(comparator, comparisons)));
+            metrics.compared(comparisons.sum());
+        }
+        end(start);
+        return array;
+    }
+
+    /**
+     * Copies the list into an array, sorts it and writes the result back into the list.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        return sort(list, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY. When INTOBUFFER is set the sorted range ends up in BUFFER, otherwise it
+     * ends up in ARRAY. Either way the other array is used as scratch space.
+     */
+    private class SortTask<T> extends RecursiveAction
+    {
+        private static final long serialVersionUID = -5403818870131417528L;
+
+        private final T[] array;
+        private final T[] buffer;
+        private final int low;
+        private final int high;
+        private final boolean intoBuffer;
+        private final Comparator<? super T> comparator;
+
+        SortTask(T[] array, T[] buffer, int low, int high, boolean intoBuffer, Comparator<? super T> comparator)
+        {
+            this.array = array;
+            this.buffer = buffer;
+            this.low = low;
+            this.high = high;
+            this.intoBuffer = intoBuffer;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (high - low <= cutoff)
+            {
+                mergeSort(array, buffer, low, high, intoBuffer, comparator);
+                return;
+            }
+
+            int middle = (low + high) >>> 1;
+            invokeAll(new SortTask<>(array, buffer, low, middle, !intoBuffer, comparator),
+                      new SortTask<>(array, buffer, middle, high, !intoBuffer, comparator));
+
+            if (intoBuffer)
+                new MergeTask<>(array, low, middle, middle, high, buffer, low, comparator).compute();
+            else
+                new MergeTask<>(buffer, low, middle, middle, high, array, low, comparator).compute();
+        }
+    }
+
+    /**
+     * Merges the sorted runs SOURCE[leftLow, leftHigh) and SOURCE[rightLow, rightHigh) into TARGET starting at
+     * TARGETLOW. Large merges are split at the middle of the larger run and the two halves are merged in parallel.
+     */
+    private class MergeTask<T> extends RecursiveAction
+    {
+        private static final long serialVersionUID = 2965133462051813206L;
+
+        private final T[] source;
+        private final int leftLow;
+        private final int leftHigh;
+        private final int rightLow;
+        private final int rightHigh;
+        private final T[] target;
+        private final int targetLow;
+        private final Comparator<? super T> comparator;
+
+        MergeTask(T[] source, int leftLow, int leftHigh, int rightLow, int rightHigh, T[] target, int targetLow,
+                  Comparator<? super T> comparator)
+        {
+            this.source = source;
+            this.leftLow = leftLow;
+            this.leftHigh = leftHigh;
+            this.rightLow = rightLow;
+            this.rightHigh = rightHigh;
+            this.target = target;
+            this.targetLow = targetLow;
+            this.comparator = comparator;
+        }
+
+        /**
+         * Splitting on an element of the left run sends right run elements equal to it after it, and splitting on an
+         * element of the right run sends left run elements equal to it before it. Both keep the merge stable. A split
+         * that leaves one side empty would hand the other side the whole merge again, which only happens when one run
+         * is tiny, so such a merge is done sequentially instead.
+         */
+        @Override
+        protected void compute()
+        {
+            int leftSize = leftHigh - leftLow;
+            int rightSize = rightHigh - rightLow;
+            if (leftSize + rightSize <= cutoff)
+            {
+                merge(source, leftLow, leftHigh, rightLow, rightHigh, target, targetLow, comparator);
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+            if (leftSize >= rightSize)
+            {
+                leftSplit = (leftLow + leftHigh) >>> 1;
+                rightSplit = lowerBound(source, rightLow, rightHigh, source[leftSplit], comparator);
+            }
+            else
+            {
+                rightSplit = (rightLow + rightHigh) >>> 1;
+                leftSplit = upperBound(source, leftLow, leftHigh, source[rightSplit], comparator);
+            }
+
+            int firstSize = (leftSplit - leftLow) + (rightSplit - rightLow);
+            if (firstSize == 0 || firstSize == leftSize + rightSize)
+            {
+                merge(source, leftLow, leftHigh, rightLow, rightHigh, target, targetLow, comparator);
+                return;
+            }
+
+            int targetSplit = targetLow + firstSize;
+            invokeAll(new MergeTask<>(source, leftLow, leftSplit, rightLow, rightSplit, target, targetLow, comparator),
+                      new MergeTask<>(source, leftSplit, leftHigh, rightSplit, rightHigh, target, targetSplit,
+                                      comparator));
+        }
+    }
+
+    /**
+     * Sequential merge sort of [low, high) that ping-pongs between ARRAY and BUFFER. The sorted range ends up in
+     * BUFFER when INTOBUFFER is set and in ARRAY otherwise.
+     */
+    private static <T> void mergeSort(T[] array, T[] buffer, int low, int high, boolean intoBuffer,
+                                      Comparator<? super T> comparator)
+    {
+        if (high - low <= INSERTION_THRESHOLD)
+        {
+            InsertionSort.sort(array, low, high, comparator);
+            if (intoBuffer)
+                System.arraycopy(array, low, buffer, low, high - low);
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        mergeSort(array, buffer, low, middle, !intoBuffer, comparator);
+        mergeSort(array, buffer, middle, high, !intoBuffer, comparator);
+
+        if (intoBuffer)
+            merge(array, low, middle, middle, high, buffer, low, comparator);
+        else
+            merge(buffer, low, middle, middle, high, array, low, comparator);
+    }
+
+    /** Sequentially merges SOURCE[leftLow, leftHigh) and SOURCE[rightLow, rightHigh) into TARGET at TARGETLOW. */
+    private static <T> void merge(T[] source, int leftLow, int leftHigh, int rightLow, int rightHigh, T[] target,
+                                  int targetLow, Comparator<? super T> comparator)
+    {
+        int i = leftLow;
+        int j = rightLow;
+        int k = targetLow;
+        while (i < leftHigh && j < rightHigh)
+        {
+            if (comparator.compare(source[j], source[i]) < 0)
+                target[k ++] = source[j ++];
+            else
+                target[k ++] = source[i ++];
+        }
+        System.arraycopy(source, i, target, k, leftHigh - i);
+        System.arraycopy(source, j, target, k + (leftHigh - i), rightHigh - j);
+    }
+
+    /** Returns the first index in [low, high) whose element is not less than KEY. */
+    private static <T> int lowerBound(T[] array, int low, int high, T key, Comparator<? super T> comparator)
+    {
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(array[middle], key) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /** Returns the first index in [low, high) whose element is greater than KEY. */
+    private static <T> int upperBound(T[] array, int low, int high, T key, Comparator<? super T> comparator)
+    {
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(key, array[middle]) < 0)
+                high = middle;
+            else
+                low = middle + 1;
+        }
+        return low;
+    }
+}
@@ -1,6 +1,6 @@
 package main.com.acscooter.algorithms;
 
-import main.com.acscooter.datastructures.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -9,60 +9,664 @@ import java.util.List;
  *
  * The quicksort algorithm (also called the partition-exchange sort) is one of the most efficient sorting algorithms
  * known with average case performance O(n log n) where n is the size of the array. The algorithm is as follows. Given
- * an array, choose and remove the pivot point. Then partition the array into two parts where the first partition
- * receives all elements less than the pivot and the latter receives all elements greater than or equal to (it actually
- * doesn't matter which is equal to or whatever). Finally recurse on each partition and reconstruct the sorted array as
- * first partition + pivot + second partition.
+ * an array, choose the pivot point. Then partition the array into two parts where the first partition receives all
+ * elements less than or equal to the pivot and the latter receives all elements greater than or equal to it (it
+ * actually doesn't matter which side the equal elements land on). Finally recurse on each partition. Since everything
+ * happens by exchanging elements inside the array, the sorted array is simply the partitioned array.
  *
  * Note that the choice of pivot actually dictates how well the algorithm performs. For example, imagine a case where
  * the algorithm always chooses a pivot such that all elements are strictly greater, then the algorithm would
  * essentially function the same way insertion sort would resulting in the worst case time bound of O(n^2). This
  * actually leads to multiple variants of quicksort: randomized, median of medians, etc. However for now, we provide
- * a naive implementation of quicksort which uses the first element of the list as a pivot.
+ * a naive implementation of quicksort which uses the first element of the range as a pivot.
+ *
+ * To keep the naive pivot from ruining our day, the sort is actually an introsort (Musser, 1997). The recursion depth
+ * is capped at 2 * floor(lg n) and any range that blows through the cap is handed off to heap sort, which is O(n log n)
+ * no matter what the input looks like. Ranges of INSERTION_THRESHOLD elements or fewer are finished off by insertion
+ * sort since it beats quicksort on tiny inputs. The primitive overloads take their pivots from the primitive getPivot
+ * hooks, which default to median of three, and finish off their small ranges with the branch free sorting networks in
+ * SortingNetworks instead. Finally, we only ever recurse on the smaller partition and loop on the larger one, so the
+ * call stack never grows beyond O(log n) frames. Lists are copied into an array once, sorted in place, and written
+ * back through a list iterator, so nothing is allocated per element.
  */
 public class Quicksort extends AbstractSort
 {
+    /** Ranges of at most this many elements are handed off to insertion sort. */
+    protected static final int INSERTION_THRESHOLD = 16;
+    /** Int and long ranges of at most this many elements are handed off to a sorting network. */
+    private static final int NETWORK_THRESHOLD = SortingNetworks.MAX_SIZE;
+    /**
+     * Float and double ranges of at most this many elements are handed off to a sorting network. Math.min and
+     * Math.max have to look out for NaN and -0.0 on floating point values, which makes every compare-exchange more
+     * expensive, so the network only beats insertion sort on smaller ranges.
+     */
+    private static final int FLOATING_NETWORK_THRESHOLD = 16;
+
+    /**
+     * Sorts ARRAY in place with introsort.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        return sort(array, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts ARRAY in place with introsort, ordering elements with COMPARATOR.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        sort(array, 0, array.length, comparator);
+        return array;
+    }
+
+    /**
+     * Copies the list into an array, sorts the array in place and writes the result back into the list.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        return sort(list, Comparator.<T>naturalOrder());
+    }
+
     /**
-     * A naive implementation of quicksort that uses the first element as a pivot.
+     * Copies the list into an array, sorts the array in place with COMPARATOR and writes the result back into the
+     * list.
      * @param list
+     * @param comparator
      * @param <T>
-     * @return sorted list
+     * @return the same list, sorted
      */
     @Override
-    public <T extends Comparable<T>> List<T> sort(List<T> list) {
+    public <T> List<T> sort(List<T> list, Comparator<? super T> comparator)
+    {
         if (list.size() <= 1)
             return list;
 
-        LinkedList<T> right = new LinkedList<>();
-        LinkedList<T> left = new LinkedList<>();
+        T[] array = toArray(list);
+        long start = begin(array.length);
+        metrics.allocated(array.length);
+        introsort(array, 0, array.length, 2 * log2(array.length), 1, counted(comparator));
+        end(start);
+        return copyBack(array, list);
+    }
 
-        T pivot = getPivot(list);
-        list.remove(pivot);
+    /**
+     * Sorts the range [low, high) of ARRAY in place.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param <T>
+     */
+    public <T extends Comparable<T>> void sort(T[] array, int low, int high)
+    {
+        sort(array, low, high, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY in place, ordering elements with COMPARATOR.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     */
+    public <T> void sort(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        long start = begin(high - low);
+        introsort(array, low, high, 2 * log2(high - low), 1, counted(comparator));
+        end(start);
+    }
 
-        for (T element : list) {
-            if (element.compareTo(pivot) <= 0)
-                right.add(element);
+    /**
+     * Sorts the range [low, high) of ARRAY in place.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     */
+    @Override
+    protected <T> void sortRange(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        sort(array, low, high, comparator);
+    }
+
+    /**
+     * The introsort loop. Partitions [low, high) around the pivot, recurses on the smaller side and iterates on the
+     * larger side. Once DEPTH hits zero the remaining range is heap sorted. LEVEL is how deep the recursion currently
+     * is, which only matters to the metrics listener; a level far beyond lg n is the sign of a bad pivot rule.
+     */
+    private <T> void introsort(T[] array, int low, int high, int depth, int level, Comparator<? super T> comparator)
+    {
+        metrics.descended(level);
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            if (depth == 0)
+            {
+                metrics.moved(HeapSort.sort(array, low, high, comparator));
+                return;
+            }
+            depth --;
+
+            int middle = partition(array, low, high, comparator);
+            if (middle - low < high - middle)
+            {
+                introsort(array, low, middle, depth, level + 1, comparator);
+                low = middle + 1;
+            }
             else
-                left.add(element);
+            {
+                introsort(array, middle + 1, high, depth, level + 1, comparator);
+                high = middle;
+            }
         }
+        metrics.moved(InsertionSort.sort(array, low, high, comparator));
+    }
 
-        right = new LinkedList<>(sort(right));
-        left = new LinkedList<>(sort(left));
+    /**
+     * Sedgewick's partition scheme. The pivot is swapped to the front of the range and two cursors walk towards each
+     * other, exchanging any pair that is on the wrong side. Both cursors stop on elements equal to the pivot, which
+     * keeps the partitions balanced when the range is full of duplicates.
+     * @return the final index of the pivot
+     */
+    private <T> int partition(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        swap(array, low, getPivot(array, low, high, comparator));
+        T pivot = array[low];
 
-        right.add(pivot);
-        right.addAll(left);
-        return right;
+        int i = low;
+        int j = high;
+        int swaps = 2;
+        while (true)
+        {
+            while (comparator.compare(array[++ i], pivot) < 0)
+                if (i == high - 1)
+                    break;
+            while (comparator.compare(pivot, array[-- j]) < 0)
+                if (j == low)
+                    break;
+            if (i >= j)
+                break;
+            swap(array, i, j);
+            swaps ++;
+        }
+        swap(array, low, j);
+        metrics.moved(2L * swaps);
+        return j;
     }
 
     /**
-     * Gets the pivot element from the list. Since the pivot getting algorithm is subject to change, we make it
-     * protected so that subclasses can later override it.
-     * @param list
+     * Gets the index of the pivot element from the range [low, high) of the array. Since the pivot getting algorithm
+     * is subject to change, we make it protected so that subclasses can later override it. Implementations may
+     * reorder the range as long as they only exchange elements within it, and should report any moves they make to
+     * the metrics listener. COMPARATOR already counts its own comparisons.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
      * @param <T>
      * @return pivot index
      */
-    protected <T extends Comparable<T>> T getPivot(List<T> list)
+    protected <T> int getPivot(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        return low;
+    }
+
+    /** Exchanges the elements at I and J. */
+    static void swap(Object[] array, int i, int j)
+    {
+        Object temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    /** Returns floor(lg N) for positive N and 0 otherwise. */
+    static int log2(int n)
+    {
+        return n <= 0 ? 0 : 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    /**
+     * Sorts ARRAY in place with introsort without boxing a single int.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public int[] sort(int[] array)
+    {
+        long start = begin(array.length);
+        introsort(array, 0, array.length, 2 * log2(array.length));
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with introsort without boxing a single long.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public long[] sort(long[] array)
+    {
+        long start = begin(array.length);
+        introsort(array, 0, array.length, 2 * log2(array.length));
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY in place without boxing a single int.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     */
+    @Override
+    protected void sortRange(int[] array, int low, int high)
+    {
+        long start = begin(high - low);
+        introsort(array, low, high, 2 * log2(high - low));
+        end(start);
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY in place without boxing a single long.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     */
+    @Override
+    protected void sortRange(long[] array, int low, int high)
+    {
+        long start = begin(high - low);
+        introsort(array, low, high, 2 * log2(high - low));
+        end(start);
+    }
+
+    /**
+     * Sorts ARRAY in place with introsort without boxing a single float.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public float[] sort(float[] array)
+    {
+        long start = begin(array.length);
+        int high = moveNaNsToEnd(array, 0, array.length);
+        introsort(array, 0, high, 2 * log2(high));
+        orderZeros(array, 0, high);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with introsort without boxing a single double.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public double[] sort(double[] array)
+    {
+        long start = begin(array.length);
+        int high = moveNaNsToEnd(array, 0, array.length);
+        introsort(array, 0, high, 2 * log2(high));
+        orderZeros(array, 0, high);
+        end(start);
+        return array;
+    }
+
+    /** Introsorts the range [low, high) of ARRAY, choosing pivots by median of three. */
+    static void sort(int[] array, int low, int high)
+    {
+        new Quicksort().introsort(array, low, high, 2 * log2(high - low));
+    }
+
+    private void introsort(int[] array, int low, int high, int depth)
+    {
+        while (high - low > NETWORK_THRESHOLD)
+        {
+            if (depth == 0)
+            {
+                HeapSort.sort(array, low, high);
+                return;
+            }
+            depth --;
+
+            int middle = partition(array, low, high);
+            if (middle - low < high - middle)
+            {
+                introsort(array, low, middle, depth);
+                low = middle + 1;
+            }
+            else
+            {
+                introsort(array, middle + 1, high, depth);
+                high = middle;
+            }
+        }
+        SortingNetworks.sort(array, low, high);
+    }
+
+    private int partition(int[] array, int low, int high)
+    {
+        swap(array, low, getPivot(array, low, high));
+        int pivot = array[low];
+
+        int i = low;
+        int j = high;
+        while (true)
+        {
+            while (array[++ i] < pivot)
+                if (i == high - 1)
+                    break;
+            while (pivot < array[-- j])
+                if (j == low)
+                    break;
+            if (i >= j)
+                break;
+            swap(array, i, j);
+        }
+        swap(array, low, j);
+        return j;
+    }
+
+    /**
+     * Gets the index of the pivot element from the range [low, high) of ARRAY, the primitive counterpart of
+     * getPivot(T[], int, int, Comparator). Primitive compares are cheap, so the default is the median of the first,
+     * middle and last values rather than the first value. The same rules apply: implementations may reorder the
+     * range as long as they only exchange values within it.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return pivot index
+     */
+    protected int getPivot(int[] array, int low, int high)
+    {
+        return medianOfThree(array, low, (low + high) >>> 1, high - 1);
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three values. */
+    private static int medianOfThree(int[] array, int a, int b, int c)
+    {
+        if (array[a] < array[b])
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        return array[a] < array[c] ? a : array[b] < array[c] ? c : b;
+    }
+
+    /** Exchanges the elements at I and J. */
+    static void swap(int[] array, int i, int j)
+    {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    /** Introsorts the range [low, high) of ARRAY, choosing pivots by median of three. */
+    static void sort(long[] array, int low, int high)
+    {
+        new Quicksort().introsort(array, low, high, 2 * log2(high - low));
+    }
+
+    private void introsort(long[] array, int low, int high, int depth)
+    {
+        while (high - low > NETWORK_THRESHOLD)
+        {
+            if (depth == 0)
+            {
+                HeapSort.sort(array, low, high);
+                return;
+            }
+            depth --;
+
+            int middle = partition(array, low, high);
+            if (middle - low < high - middle)
+            {
+                introsort(array, low, middle, depth);
+                low = middle + 1;
+            }
+            else
+            {
+                introsort(array, middle + 1, high, depth);
+                high = middle;
+            }
+        }
+        SortingNetworks.sort(array, low, high);
+    }
+
+    private int partition(long[] array, int low, int high)
+    {
+        swap(array, low, getPivot(array, low, high));
+        long pivot = array[low];
+
+        int i = low;
+        int j = high;
+        while (true)
+        {
+            while (array[++ i] < pivot)
+                if (i == high - 1)
+                    break;
+            while (pivot < array[-- j])
+                if (j == low)
+                    break;
+            if (i >= j)
+                break;
+            swap(array, i, j);
+        }
+        swap(array, low, j);
+        return j;
+    }
+
+    /**
+     * Gets the index of the pivot element from the range [low, high) of ARRAY, the primitive counterpart of
+     * getPivot(T[], int, int, Comparator). Primitive compares are cheap, so the default is the median of the first,
+     * middle and last values rather than the first value. The same rules apply: implementations may reorder the
+     * range as long as they only exchange values within it.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return pivot index
+     */
+    protected int getPivot(long[] array, int low, int high)
+    {
+        return medianOfThree(array, low, (low + high) >>> 1, high - 1);
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three values. */
+    private static int medianOfThree(long[] array, int a, int b, int c)
+    {
+        if (array[a] < array[b])
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        return array[a] < array[c] ? a : array[b] < array[c] ? c : b;
+    }
+
+    /** Exchanges the elements at I and J. */
+    static void swap(long[] array, int i, int j)
+    {
+        long temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    /** Introsorts the range [low, high) of ARRAY, choosing pivots by median of three. */
+    static void sort(float[] array, int low, int high)
+    {
+        new Quicksort().introsort(array, low, high, 2 * log2(high - low));
+    }
+
+    private void introsort(float[] array, int low, int high, int depth)
+    {
+        while (high - low > FLOATING_NETWORK_THRESHOLD)
+        {
+            if (depth == 0)
+            {
+                HeapSort.sort(array, low, high);
+                return;
+            }
+            depth --;
+
+            int middle = partition(array, low, high);
+            if (middle - low < high - middle)
+            {
+                introsort(array, low, middle, depth);
+                low = middle + 1;
+            }
+            else
+            {
+                introsort(array, middle + 1, high, depth);
+                high = middle;
+            }
+        }
+        SortingNetworks.sort(array, low, high);
+    }
+
+    private int partition(float[] array, int low, int high)
+    {
+        swap(array, low, getPivot(array, low, high));
+        float pivot = array[low];
+
+        int i = low;
+        int j = high;
+        while (true)
+        {
+            while (array[++ i] < pivot)
+                if (i == high - 1)
+                    break;
+            while (pivot < array[-- j])
+                if (j == low)
+                    break;
+            if (i >= j)
+                break;
+            swap(array, i, j);
+        }
+        swap(array, low, j);
+        return j;
+    }
+
+    /**
+     * Gets the index of the pivot element from the range [low, high) of ARRAY, the primitive counterpart of
+     * getPivot(T[], int, int, Comparator). Primitive compares are cheap, so the default is the median of the first,
+     * middle and last values rather than the first value. The same rules apply: implementations may reorder the
+     * range as long as they only exchange values within it.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return pivot index
+     */
+    protected int getPivot(float[] array, int low, int high)
+    {
+        return medianOfThree(array, low, (low + high) >>> 1, high - 1);
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three values. */
+    private static int medianOfThree(float[] array, int a, int b, int c)
+    {
+        if (array[a] < array[b])
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        return array[a] < array[c] ? a : array[b] < array[c] ? c : b;
+    }
+
+    /** Exchanges the elements at I and J. */
+    static void swap(float[] array, int i, int j)
+    {
+        float temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    /** Introsorts the range [low, high) of ARRAY, choosing pivots by median of three. */
+    static void sort(double[] array, int low, int high)
+    {
+        new Quicksort().introsort(array, low, high, 2 * log2(high - low));
+    }
+
+    private void introsort(double[] array, int low, int high, int depth)
+    {
+        while (high - low > FLOATING_NETWORK_THRESHOLD)
+        {
+            if (depth == 0)
+            {
+                HeapSort.sort(array, low, high);
+                return;
+            }
+            depth --;
+
+            int middle = partition(array, low, high);
+            if (middle - low < high - middle)
+            {
+                introsort(array, low, middle, depth);
+                low = middle + 1;
+            }
+            else
+            {
+                introsort(array, middle + 1, high, depth);
+                high = middle;
+            }
+        }
+        SortingNetworks.sort(array, low, high);
+    }
+
+    private int partition(double[] array, int low, int high)
+    {
+        swap(array, low, getPivot(array, low, high));
+        double pivot = array[low];
+
+        int i = low;
+        int j = high;
+        while (true)
+        {
+            while (array[++ i] < pivot)
+                if (i == high - 1)
+                    break;
+            while (pivot < array[-- j])
+                if (j == low)
+                    break;
+            if (i >= j)
+                break;
+            swap(array, i, j);
+        }
+        swap(array, low, j);
+        return j;
+    }
+
+    /**
+     * Gets the index of the pivot element from the range [low, high) of ARRAY, the primitive counterpart of
+     * getPivot(T[], int, int, Comparator). Primitive compares are cheap, so the default is the median of the first,
+     * middle and last values rather than the first value. The same rules apply: implementations may reorder the
+     * range as long as they only exchange values within it.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return pivot index
+     */
+    protected int getPivot(double[] array, int low, int high)
+    {
+        return medianOfThree(array, low, (low + high) >>> 1, high - 1);
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three values. */
+    private static int medianOfThree(double[] array, int a, int b, int c)
+    {
+        if (array[a] < array[b])
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        return array[a] < array[c] ? a : array[b] < array[c] ? c : b;
+    }
+
+    /** Exchanges the elements at I and J. */
+    static void swap(double[] array, int i, int j)
     {
-        return list.get(0);
+        double temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
     }
 }
@@ -0,0 +1,316 @@
+package main.com.acscooter.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Radix sort is what you get when you stop comparing keys and start looking at them. Every comparison sort needs
+ * Omega(n log n) comparisons in the worst case (there are n! orderings and each comparison only halves them), but a
+ * key made of w digits can be sorted with w passes of counting sort, each of which costs O(n + R) for a radix of R.
+ * For fixed width integers that makes sorting linear.
+ *
+ * Two flavours are implemented here. Least significant digit (LSD) radix sort handles int and long arrays one byte at
+ * a time, starting from the lowest byte. Each pass is a stable counting sort, so ordering by byte k is preserved
+ * while byte k + 1 is sorted, and after the last pass the whole key is in order. All byte histograms are built in a
+ * single scan up front, which also means a pass whose byte is the same for every key (think of the top bytes of
+ * small IDs) can be skipped outright. The sign bit is flipped on the top byte so negative numbers land before
+ * positive ones.
+ *
+ * Most significant digit (MSD) radix sort handles Strings, which don't have a fixed width. It buckets on the first
+ * character, then recursively buckets every bucket on the next character and so on, with strings that have run out
+ * of characters going first. Buckets quickly get small, and small buckets are cheaper to finish with insertion sort
+ * than with another 256-way counting pass. If every string fits in a byte per character (ASCII identifiers, say) one
+ * pass is done per character, otherwise two.
+ *
+ * Anything that is neither a primitive nor a String is handed to TimSort. Scratch arrays are kept on the instance and
+ * reused from one call to the next, so a RadixSort should not be shared between threads.
+ */
+public class RadixSort extends AbstractSort
+{
+    /** The number of buckets per pass. */
+    private static final int RADIX = 256;
+    /** String buckets of at most this many elements are insertion sorted. Small int and long arrays go to a network. */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    /** The sort used for anything that is not a String. */
+    private final AbstractSort fallback = new TimSort();
+
+    /** Byte histograms for the LSD passes, one block of RADIX counts per byte. */
+    private final int[] counts = new int[Long.BYTES * RADIX];
+    /** Scratch space for the LSD int passes. */
+    private int[] intBuffer = new int[0];
+    /** Scratch space for the LSD long passes. */
+    private long[] longBuffer = new long[0];
+    /** Scratch space for the MSD distribution. */
+    private String[] stringBuffer = new String[0];
+    /** Bucket counts for the MSD passes, one array per level of recursion. */
+    private int[][] bucketCounts = new int[0][];
+
+    /**
+     * Attaches METRICS to this sorter and to the fallback sort.
+     * @param metrics
+     */
+    @Override
+    public void setMetrics(SortMetrics metrics)
+    {
+        super.setMetrics(metrics);
+        fallback.setMetrics(metrics);
+    }
+
+    /**
+     * Sorts ARRAY in place with LSD radix sort.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public int[] sort(int[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        if (n <= SortingNetworks.MAX_SIZE)
+        {
+            SortingNetworks.sort(array, 0, n);
+            end(start);
+            return array;
+        }
+
+        int[] counts = this.counts;
+        Arrays.fill(counts, 0, Integer.BYTES * RADIX, 0);
+        for (int value : array)
+            for (int b = 0; b < Integer.BYTES; b ++)
+                counts[b * RADIX + digit(value, b)] ++;
+
+        if (intBuffer.length < n)
+        {
+            metrics.allocated(n);
+            intBuffer = new int[n];
+        }
+        int[] source = array;
+        int[] target = intBuffer;
+
+        for (int b = 0; b < Integer.BYTES; b ++)
+        {
+            int offset = b * RADIX;
+            if (counts[offset + digit(source[0], b)] == n)
+                continue;
+
+            toOffsets(counts, offset);
+            for (int i = 0; i < n; i ++)
+                target[counts[offset + digit(source[i], b)] ++] = source[i];
+            metrics.moved(n);
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != array)
+            System.arraycopy(source, 0, array, 0, n);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts ARRAY in place with LSD radix sort.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public long[] sort(long[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        if (n <= SortingNetworks.MAX_SIZE)
+        {
+            SortingNetworks.sort(array, 0, n);
+            end(start);
+            return array;
+        }
+
+        int[] counts = this.counts;
+        Arrays.fill(counts, 0);
+        for (long value : array)
+            for (int b = 0; b < Long.BYTES; b ++)
+                counts[b * RADIX + digit(value, b)] ++;
+
+        if (longBuffer.length < n)
+        {
+            metrics.allocated(n);
+            longBuffer = new long[n];
+        }
+        long[] source = array;
+        long[] target = longBuffer;
+
+        for (int b = 0; b < Long.BYTES; b ++)
+        {
+            int offset = b * RADIX;
+            if (counts[offset + digit(source[0], b)] == n)
+                continue;
+
+            toOffsets(counts, offset);
+            for (int i = 0; i < n; i ++)
+                target[counts[offset + digit(source[i], b)] ++] = source[i];
+            metrics.moved(n);
+
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != array)
+            System.arraycopy(source, 0, array, 0, n);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts LIST with MSD radix sort when it only holds Strings and with TimSort otherwise.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        for (T element : list)
+            if (!(element instanceof String))
+                return fallback.sort(list);
+        return (List<T>) sortStrings((List<String>) list);
+    }
+
+    /**
+     * Sorts LIST with MSD radix sort.
+     * @param list
+     * @return the same list, sorted
+     */
+    public List<String> sortStrings(List<String> list)
+    {
+        if (list.size() <= 1)
+            return list;
+        return copyBack(sortStrings(list.toArray(new String[list.size()])), list);
+    }
+
+    /**
+     * Sorts ARRAY in place with MSD radix sort. Strings are ordered as by String.compareTo.
+     * @param array
+     * @return the same array, sorted
+     */
+    public String[] sortStrings(String[] array)
+    {
+        long start = begin(array.length);
+        int n = array.length;
+        if (stringBuffer.length < n)
+        {
+            metrics.allocated(n);
+            stringBuffer = new String[n];
+        }
+
+        boolean wide = false;
+        for (int i = 0; i < n && !wide; i ++)
+            for (int j = 0; j < array[i].length() && !wide; j ++)
+                wide = array[i].charAt(j) > 0xff;
+
+        sortStrings(array, 0, n, 0, 0, wide);
+        Arrays.fill(stringBuffer, 0, n, null);
+        end(start);
+        return array;
+    }
+
+    /**
+     * Sorts [low, high) of ARRAY, all of whose strings agree on the digits before DIGIT. When every string in the
+     * range has the same digit the distribution is skipped and the loop just moves on to the next digit.
+     */
+    private void sortStrings(String[] array, int low, int high, int digit, int level, boolean wide)
+    {
+        int[] count = bucketCounts(level);
+        while (true)
+        {
+            if (high - low <= INSERTION_THRESHOLD)
+            {
+                metrics.moved(InsertionSort.sort(array, low, high, counted(Comparator.<String>naturalOrder())));
+                return;
+            }
+
+            Arrays.fill(count, 0);
+            for (int i = low; i < high; i ++)
+                count[digit(array[i], digit, wide) + 2] ++;
+
+            int first = digit(array[low], digit, wide);
+            if (count[first + 2] == high - low)
+            {
+                if (first == -1)
+                    return;
+                digit ++;
+                continue;
+            }
+            break;
+        }
+
+        for (int r = 0; r < RADIX + 1; r ++)
+            count[r + 1] += count[r];
+        for (int i = low; i < high; i ++)
+            stringBuffer[low + count[digit(array[i], digit, wide) + 1] ++] = array[i];
+        System.arraycopy(stringBuffer, low, array, low, high - low);
+        metrics.moved(2L * (high - low));
+
+        for (int r = 0; r < RADIX; r ++)
+            if (count[r + 1] - count[r] > 1)
+                sortStrings(array, low + count[r], low + count[r + 1], digit + 1, level + 1, wide);
+    }
+
+    /** Returns the bucket counts for LEVEL of the MSD recursion, allocating them the first time LEVEL is reached. */
+    private int[] bucketCounts(int level)
+    {
+        if (level == bucketCounts.length)
+            bucketCounts = Arrays.copyOf(bucketCounts, Math.max(16, level * 2));
+        if (bucketCounts[level] == null)
+            bucketCounts[level] = new int[RADIX + 2];
+        return bucketCounts[level];
+    }
+
+    /** Turns the RADIX counts starting at OFFSET into the starting index of every bucket. */
+    private static void toOffsets(int[] counts, int offset)
+    {
+        int sum = 0;
+        for (int r = offset; r < offset + RADIX; r ++)
+        {
+            int count = counts[r];
+            counts[r] = sum;
+            sum += count;
+        }
+    }
+
+    /** Returns byte B of VALUE with the sign bit of the top byte flipped. */
+    private static int digit(int value, int b)
+    {
+        int digit = (value >>> (b << 3)) & 0xff;
+        return b == Integer.BYTES - 1 ? digit ^ 0x80 : digit;
+    }
+
+    /** Returns byte B of VALUE with the sign bit of the top byte flipped. */
+    private static int digit(long value, int b)
+    {
+        int digit = (int) (value >>> (b << 3)) & 0xff;
+        return b == Long.BYTES - 1 ? digit ^ 0x80 : digit;
+    }
+
+    /**
+     * Returns digit D of STRING, or -1 once the string has run out. Narrow strings have one digit per character and
+     * wide strings have two, high byte first.
+     */
+    private static int digit(String string, int d, boolean wide)
+    {
+        int index = wide ? d >>> 1 : d;
+        if (index >= string.length())
+            return -1;
+        char c = string.charAt(index);
+        if (!wide)
+            return c;
+        return (d & 1) == 0 ? c >>> 8 : c & 0xff;
+    }
+}
@@ -1,27 +1,60 @@
 package main.com.acscooter.algorithms;
 
-import java.util.List;
-import java.util.Random;
+import java.util.Comparator;
 
 /**
  * @author      Antares Chen
  * @since       2015-07-14
- * RandomizedQuicksort implements the quicksort algorithm using a random pivot
+ * RandomizedQuicksort implements the quicksort algorithm using a random pivot, for objects and primitives alike.
+ * Pivots are drawn from the calling thread's generator in Shuffle, so the sorter can be shared between threads and
+ * choosing a pivot allocates nothing.
  */
 
 public class RandomizedQuicksort extends Quicksort
 {
     /**
-     * Chooses the pivot randomly from the list
-     * @param list
+     * Chooses the pivot randomly from the range
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
      * @param <T>
      * @return pivot index
      */
     @Override
-    protected <T extends Comparable<T>> T getPivot(List<T> list)
+    protected <T> int getPivot(T[] array, int low, int high, Comparator<? super T> comparator)
     {
-        Random rngGods = new Random(133713371337L);
-        int index = rngGods.nextInt(list.size());
-        return list.get(index);
+        return low + Shuffle.current().nextInt(high - low);
+    }
+
+    /**
+     * Chooses the pivot randomly from the range
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @return pivot index
+     */
+    @Override
+    protected int getPivot(int[] array, int low, int high)
+    {
+        return low + Shuffle.current().nextInt(high - low);
+    }
+
+    @Override
+    protected int getPivot(long[] array, int low, int high)
+    {
+        return low + Shuffle.current().nextInt(high - low);
+    }
+
+    @Override
+    protected int getPivot(float[] array, int low, int high)
+    {
+        return low + Shuffle.current().nextInt(high - low);
+    }
+
+    @Override
+    protected int getPivot(double[] array, int low, int high)
+    {
+        return low + Shuffle.current().nextInt(high - low);
     }
 }
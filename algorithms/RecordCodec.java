@@ -0,0 +1,47 @@
+package main.com.acscooter.algorithms;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * A RecordCodec turns records into bytes and back so that ExternalSort can spill them to disk. Records are framed by
+ * the sort itself, so a codec only ever sees the bytes of a single record.
+ * @param <T> the record type
+ */
+public interface RecordCodec<T>
+{
+    /**
+     * Returns the number of bytes encode will write for RECORD.
+     * @param record
+     * @return encoded size in bytes
+     */
+    int encodedSize(T record);
+
+    /**
+     * Writes RECORD into TARGET at its current position, advancing the position by exactly encodedSize(record).
+     * @param record
+     * @param target
+     */
+    void encode(T record, ByteBuffer target);
+
+    /**
+     * Reads a record from SOURCE, whose remaining bytes are exactly those written by encode.
+     * @param source
+     * @return the decoded record
+     */
+    T decode(ByteBuffer source);
+
+    /**
+     * Returns a rough estimate of how many bytes of heap RECORD takes up once decoded. The sort uses this to decide
+     * when an in-memory chunk has reached the memory budget. The default guesses the encoded size plus the object
+     * header and a reference in the chunk array.
+     * @param record
+     * @return estimated heap footprint in bytes
+     */
+    default long heapSize(T record)
+    {
+        return encodedSize(record) + 32;
+    }
+}
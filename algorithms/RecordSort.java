@@ -0,0 +1,447 @@
+package main.com.acscooter.algorithms;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * The other sorts in this package want objects, and turning a few hundred megabytes of packed binary records into
+ * objects costs more memory and time than sorting them does. RecordSort sorts fixed width records where they lie, in
+ * a ByteBuffer, without creating an object per record. Direct buffers keep the records off the heap altogether, so
+ * the garbage collector never sees them. A record is RECORD_WIDTH bytes, and its key is the KEY_LENGTH bytes starting
+ * KEY_OFFSET bytes into it. Keys are ordered lexicographically by unsigned byte, which is the natural order of
+ * unsigned big endian integers and of UTF-8 text. A signed big endian integer sorts correctly once its sign bit is
+ * flipped, and an IEEE float or double once every bit is flipped for negative values and just the sign bit for the
+ * rest; doing that when the records are written is the caller's business.
+ *
+ * There are two methods. INTROSORT is Quicksort's introsort run on records: median of three pivots, a partition that
+ * stops on equal keys from both ends so duplicates split evenly, heap sort once the recursion gets too deep and
+ * insertion sort for small ranges. RADIX is an in-place MSD radix sort, known as American flag sort (McIlroy, Bostic
+ * and McIlroy, 1993). It counts the records per value of the first key byte, works out where each bucket starts, and
+ * then moves every record straight into its bucket by following cycles of swaps, so it needs no second buffer. Then
+ * every bucket is sorted on the next byte. Small buckets go to insertion sort, which compares from the current byte
+ * on. Comparisons read keys eight bytes at a time as unsigned longs, and swaps move records eight bytes at a time.
+ *
+ * Swapping records costs as much as they are wide. When the records are much wider than their keys, it pays to sort
+ * key/pointer pairs instead: a copy of each key followed by the index of its record, packed into a direct scratch
+ * buffer. The pairs are sorted with the same method, and then every record is moved straight to its final place by
+ * following the cycles of the resulting permutation, so each record is moved exactly once. By default this is done
+ * when a record is more than INDIRECT_RATIO times as wide as its pair.
+ *
+ * Neither method is stable. A RecordSort keeps its bucket counts between calls, so it shouldn't be shared between
+ * threads.
+ */
+public class RecordSort
+{
+    /** The ways to sort the keys. */
+    public enum Method
+    {
+        /** Introsort comparing whole keys. */
+        INTROSORT,
+        /** In-place MSD radix sort one key byte at a time. */
+        RADIX
+    }
+
+    /** Ranges of at most this many records are insertion sorted. */
+    private static final int INSERTION_THRESHOLD = 16;
+    /**
+     * Records more than this many times as wide as a key/pointer pair are sorted indirectly by default. Moving records
+     * through the permutation jumps all over the buffer, so the pairs have to be a lot narrower to make up for it.
+     */
+    private static final int INDIRECT_RATIO = 10;
+    /** The number of buckets per radix pass. */
+    private static final int RADIX = 256;
+
+    private final int recordWidth;
+    private final int keyOffset;
+    private final int keyLength;
+    private final Method method;
+    private final boolean indirect;
+
+    /** Bucket counts and bucket ends for the radix passes, two arrays per key byte. */
+    private int[][] bucketCounts = new int[0][];
+
+    /**
+     * Creates a record sorter that radix sorts, indirectly when records are much wider than their keys.
+     * @param recordWidth the width of a record in bytes
+     * @param keyOffset where the key starts within a record
+     * @param keyLength the width of the key in bytes
+     */
+    public RecordSort(int recordWidth, int keyOffset, int keyLength)
+    {
+        this(recordWidth, keyOffset, keyLength, Method.RADIX,
+             recordWidth > INDIRECT_RATIO * (keyLength + Integer.BYTES));
+    }
+
+    /**
+     * Creates a record sorter.
+     * @param recordWidth the width of a record in bytes
+     * @param keyOffset where the key starts within a record
+     * @param keyLength the width of the key in bytes
+     * @param method how to sort the keys
+     * @param indirect whether to sort key/pointer pairs and move every record once at the end
+     */
+    public RecordSort(int recordWidth, int keyOffset, int keyLength, Method method, boolean indirect)
+    {
+        if (recordWidth <= 0 || keyOffset < 0 || keyLength < 0 || keyOffset + keyLength > recordWidth)
+            throw new IllegalArgumentException("Key [" + keyOffset + ", " + (keyOffset + keyLength)
+                                               + ") doesn't fit in a record of " + recordWidth + " bytes");
+        this.recordWidth = recordWidth;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.method = method;
+        this.indirect = indirect;
+    }
+
+    /**
+     * Sorts the records between the position and the limit of BUFFER in place. The position, limit and byte order of
+     * BUFFER are left as they were.
+     * @param buffer
+     * @return the same buffer, sorted
+     * @throws IllegalArgumentException if the remaining bytes aren't a whole number of records
+     */
+    public ByteBuffer sort(ByteBuffer buffer)
+    {
+        if (buffer.remaining() % recordWidth != 0)
+            throw new IllegalArgumentException(buffer.remaining() + " bytes is not a whole number of "
+                                               + recordWidth + " byte records");
+        int n = buffer.remaining() / recordWidth;
+        if (n <= 1 || keyLength == 0)
+            return buffer;
+
+        Records records = new Records(buffer, buffer.position(), recordWidth, keyOffset, keyLength);
+        if (!indirect)
+        {
+            sort(records, n);
+            return buffer;
+        }
+
+        int pairWidth = keyLength + Integer.BYTES;
+        ByteBuffer scratch = ByteBuffer.allocateDirect(Math.multiplyExact(n, pairWidth));
+        for (int i = 0; i < n; i ++)
+        {
+            for (int b = 0; b < keyLength; b ++)
+                scratch.put(i * pairWidth + b, buffer.get(records.key(i) + b));
+            scratch.putInt(i * pairWidth + keyLength, i);
+        }
+        Records pairs = new Records(scratch, 0, pairWidth, 0, keyLength);
+        sort(pairs, n);
+        permute(records, pairs, n);
+        return buffer;
+    }
+
+    /** Sorts the first N records of RECORDS with the chosen method. */
+    private void sort(Records records, int n)
+    {
+        if (method == Method.RADIX)
+            radixSort(records, 0, n, 0);
+        else
+            introsort(records, 0, n, 2 * Quicksort.log2(n));
+    }
+
+    /**
+     * Moves every record to where PAIRS says it belongs. Sorted position p holds the pair of the record that was at
+     * the index stored in it, so walking each cycle of that permutation moves every record once, with a single
+     * record held aside per cycle. A visited index is overwritten with its own position to mark it done.
+     */
+    private void permute(Records records, Records pairs, int n)
+    {
+        ByteBuffer index = pairs.buffer;
+        int indexOffset = keyLength;
+        byte[] held = new byte[recordWidth];
+        byte[] moving = new byte[recordWidth];
+        ByteBuffer view = records.buffer.duplicate();
+        for (int start = 0; start < n; start ++)
+        {
+            if (index.getInt(start * pairs.width + indexOffset) == start)
+                continue;
+
+            read(view, records.record(start), held);
+            int j = start;
+            while (true)
+            {
+                int k = index.getInt(j * pairs.width + indexOffset);
+                index.putInt(j * pairs.width + indexOffset, j);
+                if (k == start)
+                {
+                    write(view, records.record(j), held);
+                    break;
+                }
+                read(view, records.record(k), moving);
+                write(view, records.record(j), moving);
+                j = k;
+            }
+        }
+    }
+
+    /** Copies the bytes of the record at OFFSET of VIEW into RECORD. */
+    private static void read(ByteBuffer view, int offset, byte[] record)
+    {
+        view.position(offset);
+        view.get(record);
+    }
+
+    /** Copies RECORD into VIEW at OFFSET. */
+    private static void write(ByteBuffer view, int offset, byte[] record)
+    {
+        view.position(offset);
+        view.put(record);
+    }
+
+    /**
+     * Sorts records [low, high) with introsort, handing ranges that blow through DEPTH_LIMIT to heap sort. Like
+     * Quicksort we recurse on the smaller side and loop on the larger one.
+     */
+    private static void introsort(Records records, int low, int high, int depthLimit)
+    {
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            if (depthLimit -- == 0)
+            {
+                heapSort(records, low, high);
+                return;
+            }
+
+            int middle = (low + high) >>> 1;
+            if (records.compare(middle, low, 0) < 0)
+                records.swap(middle, low);
+            if (records.compare(high - 1, low, 0) < 0)
+                records.swap(high - 1, low);
+            if (records.compare(high - 1, middle, 0) < 0)
+                records.swap(high - 1, middle);
+            records.swap(low, middle);
+
+            int i = low;
+            int j = high;
+            while (true)
+            {
+                while (records.compare(++ i, low, 0) < 0)
+                    if (i == high - 1)
+                        break;
+                while (records.compare(low, -- j, 0) < 0)
+                    if (j == low)
+                        break;
+                if (i >= j)
+                    break;
+                records.swap(i, j);
+            }
+            records.swap(low, j);
+
+            if (j - low < high - j - 1)
+            {
+                introsort(records, low, j, depthLimit);
+                low = j + 1;
+            }
+            else
+            {
+                introsort(records, j + 1, high, depthLimit);
+                high = j;
+            }
+        }
+        insertionSort(records, low, high, 0);
+    }
+
+    /** Heap sorts records [low, high). */
+    private static void heapSort(Records records, int low, int high)
+    {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i --)
+            siftDown(records, low, i, n);
+        for (int end = n - 1; end > 0; end --)
+        {
+            records.swap(low, low + end);
+            siftDown(records, low, 0, end);
+        }
+    }
+
+    /** Sifts heap entry I down a max-heap of N records starting at record LOW. */
+    private static void siftDown(Records records, int low, int i, int n)
+    {
+        while (2 * i + 1 < n)
+        {
+            int child = 2 * i + 1;
+            if (child + 1 < n && records.compare(low + child, low + child + 1, 0) < 0)
+                child ++;
+            if (records.compare(low + i, low + child, 0) >= 0)
+                return;
+            records.swap(low + i, low + child);
+            i = child;
+        }
+    }
+
+    /** Insertion sorts records [low, high), all of whose keys agree on their first DEPTH bytes. */
+    private static void insertionSort(Records records, int low, int high, int depth)
+    {
+        for (int i = low + 1; i < high; i ++)
+            for (int j = i; j > low && records.compare(j - 1, j, depth) > 0; j --)
+                records.swap(j - 1, j);
+    }
+
+    /**
+     * Sorts records [low, high), all of whose keys agree on their first DEPTH bytes, with American flag sort. NEXT
+     * starts as where each bucket begins and is advanced as records are placed; a record is swapped into the next free
+     * slot of its own bucket until the slot being looked at holds a record that belongs there.
+     */
+    private void radixSort(Records records, int low, int high, int depth)
+    {
+        while (high - low > INSERTION_THRESHOLD && depth < keyLength)
+        {
+            int[] count = bucketCounts(depth);
+            Arrays.fill(count, 0);
+            for (int i = low; i < high; i ++)
+                count[records.byteAt(i, depth)] ++;
+
+            if (count[records.byteAt(low, depth)] == high - low)
+            {
+                depth ++;
+                continue;
+            }
+
+            int[] next = count;
+            int[] end = bucketEnds(depth);
+            int sum = low;
+            for (int r = 0; r < RADIX; r ++)
+            {
+                int size = count[r];
+                next[r] = sum;
+                sum += size;
+                end[r] = sum;
+            }
+
+            for (int r = 0; r < RADIX; r ++)
+            {
+                while (next[r] < end[r])
+                {
+                    int digit = records.byteAt(next[r], depth);
+                    if (digit == r)
+                        next[r] ++;
+                    else
+                        records.swap(next[r], next[digit] ++);
+                }
+            }
+
+            int first = low;
+            for (int r = 0; r < RADIX; r ++)
+            {
+                if (end[r] - first > 1)
+                    radixSort(records, first, end[r], depth + 1);
+                first = end[r];
+            }
+            return;
+        }
+        insertionSort(records, low, high, depth);
+    }
+
+    /**
+     * Returns the bucket counts for key byte DEPTH, allocating them the first time DEPTH is reached. Once the records
+     * are counted they are turned into the next free slot of every bucket.
+     */
+    private int[] bucketCounts(int depth)
+    {
+        ensureLevel(depth);
+        return bucketCounts[2 * depth];
+    }
+
+    /** Returns where every bucket ends for key byte DEPTH. */
+    private int[] bucketEnds(int depth)
+    {
+        ensureLevel(depth);
+        return bucketCounts[2 * depth + 1];
+    }
+
+    /** Allocates the bucket arrays for key byte DEPTH unless they exist already. */
+    private void ensureLevel(int depth)
+    {
+        if (2 * depth + 1 >= bucketCounts.length)
+            bucketCounts = Arrays.copyOf(bucketCounts, Math.max(2 * depth + 2, 2 * bucketCounts.length));
+        if (bucketCounts[2 * depth] == null)
+        {
+            bucketCounts[2 * depth] = new int[RADIX];
+            bucketCounts[2 * depth + 1] = new int[RADIX];
+        }
+    }
+
+    /**
+     * A view of fixed width records in a buffer, addressed by record index. Reads and writes are absolute and go
+     * through a big endian duplicate, so the caller's buffer keeps its position and byte order.
+     */
+    private static final class Records
+    {
+        private final ByteBuffer buffer;
+        private final int base;
+        private final int width;
+        private final int keyOffset;
+        private final int keyLength;
+
+        Records(ByteBuffer buffer, int base, int width, int keyOffset, int keyLength)
+        {
+            this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+            this.base = base;
+            this.width = width;
+            this.keyOffset = keyOffset;
+            this.keyLength = keyLength;
+        }
+
+        /** Returns the offset of record I in the buffer. */
+        int record(int i)
+        {
+            return base + i * width;
+        }
+
+        /** Returns the offset of the key of record I in the buffer. */
+        int key(int i)
+        {
+            return base + i * width + keyOffset;
+        }
+
+        /** Returns byte D of the key of record I as an unsigned value. */
+        int byteAt(int i, int d)
+        {
+            return buffer.get(key(i) + d) & 0xff;
+        }
+
+        /** Compares the keys of records I and J, which are known to agree on their first DEPTH bytes. */
+        int compare(int i, int j, int depth)
+        {
+            int a = key(i);
+            int b = key(j);
+            int d = depth;
+            for (; d + Long.BYTES <= keyLength; d += Long.BYTES)
+            {
+                int compare = Long.compareUnsigned(buffer.getLong(a + d), buffer.getLong(b + d));
+                if (compare != 0)
+                    return compare;
+            }
+            for (; d < keyLength; d ++)
+            {
+                int compare = (buffer.get(a + d) & 0xff) - (buffer.get(b + d) & 0xff);
+                if (compare != 0)
+                    return compare;
+            }
+            return 0;
+        }
+
+        /** Swaps records I and J. */
+        void swap(int i, int j)
+        {
+            int a = record(i);
+            int b = record(j);
+            int d = 0;
+            for (; d + Long.BYTES <= width; d += Long.BYTES)
+            {
+                long x = buffer.getLong(a + d);
+                buffer.putLong(a + d, buffer.getLong(b + d));
+                buffer.putLong(b + d, x);
+            }
+            for (; d < width; d ++)
+            {
+                byte x = buffer.get(a + d);
+                buffer.put(a + d, buffer.get(b + d));
+                buffer.put(b + d, x);
+            }
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package main.com.acscooter.algorithms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Sample sort is what you get when you take quicksort and make it pick a lot of pivots at once. Instead of splitting
+ * the input in two around one pivot, it draws a random sample, sorts it, and takes k - 1 evenly spaced elements of the
+ * sample as splitters. Every element is then thrown into one of k buckets according to which pair of splitters it
+ * falls between, and the buckets are sorted independently. Drawing OVERSAMPLING sample elements per bucket makes it
+ * very unlikely that any bucket ends up much bigger than n / k.
+ *
+ * This is what makes it scale where ParallelMergeSort doesn't. Merge sort does its parallel work on the way down and
+ * then has to merge everything back together, and those last few merges are where the cores go idle. Sample sort does
+ * all of its coordination up front: once the elements are in their buckets, every bucket is already in its final
+ * position and the k bucket sorts have nothing to do with each other. Both passes over the data are parallel as well.
+ * The input is cut into blocks, each block classifies its elements and counts how many land in every bucket, a prefix
+ * sum over the counts tells each block exactly where its share of every bucket goes, and then every block scatters
+ * its elements into a scratch array without any synchronization.
+ *
+ * Classification follows the super scalar sample sort of Sanders and Winkel (2004). The splitters are stored as an
+ * implicit binary search tree in an array, root at index 1 and the children of node j at 2j and 2j + 1, so finding an
+ * element's bucket is lg k steps of j = 2j + (splitter[j] < element). There is no branch on the outcome, the JIT turns
+ * the comparison into a conditional move, and so the classification loop doesn't pay for branch mispredictions, which
+ * is what normally makes a k-way partition slower than it looks on paper. The bucket of every element is remembered
+ * in a byte array so the scatter pass doesn't have to classify again.
+ *
+ * Buckets larger than the cutoff are sample sorted again, the rest are handed to a sequential sorter. A bucket that
+ * didn't shrink at all, which only happens when it's full of equal elements, goes to the sequential sorter too. With
+ * the default Quicksort the result is not stable; pass a stable sorter like TimSort as the bucket sort and it is,
+ * since both the classification and the scatter keep equal elements in their original order. Buckets are sorted
+ * where they lie in the input through AbstractSort.sortRange, which Quicksort and TimSort do in place.
+ *
+ * The metrics listener hears about the size, the scratch array and the wall time of a sort. Comparisons happen on
+ * pool threads at once, so they are counted in a LongAdder, bucket sorts included, and reported from the calling
+ * thread when the sort is done. Moves are not reported.
+ */
+public class SampleSort extends AbstractSort
+{
+    /** The default size at or below which ranges are sorted sequentially. */
+    public static final int DEFAULT_CUTOFF = 1 << 14;
+    /** lg of the largest number of buckets a range is split into, small enough for a bucket to fit in a byte. */
+    private static final int MAX_LOG_BUCKETS = 8;
+    /** The number of sample elements drawn per bucket. */
+    private static final int OVERSAMPLING = 16;
+
+    /** The pool that runs the sort. */
+    private final ForkJoinPool pool;
+    /** Ranges of at most this many elements are sorted sequentially. */
+    private final int cutoff;
+    /** Sorts the buckets that are small enough. */
+    private final AbstractSort bucketSort;
+
+    /** Creates a sample sort that runs on the common pool and sorts buckets with Quicksort. */
+    public SampleSort()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a sample sort that runs on POOL and sorts buckets with Quicksort.
+     * @param pool
+     */
+    public SampleSort(ForkJoinPool pool)
+    {
+        this(pool, DEFAULT_CUTOFF, new Quicksort());
+    }
+
+    /**
+     * Creates a sample sort.
+     * @param pool the pool that runs the sort
+     * @param cutoff ranges of at most this many elements are sorted sequentially
+     * @param bucketSort the sequential sorter applied to those ranges, which is called from several threads at once,
+     *                   so it should not have a metrics listener attached unless that listener is thread-safe
+     */
+    public SampleSort(ForkJoinPool pool, int cutoff, AbstractSort bucketSort)
+    {
+        if (cutoff < 1)
+            throw new IllegalArgumentException("Cutoff must be positive: " + cutoff);
+        this.pool = pool;
+        this.cutoff = cutoff;
+        this.bucketSort = bucketSort;
+    }
+
+    /**
+     * Sorts ARRAY in place.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        return sort(array, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts ARRAY in place, ordering elements with COMPARATOR.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        long start = begin(array.length);
+        LongAdder comparisons = new LongAdder();
+        Comparator<? super T> counting = counted(comparator, comparisons);
+        if (array.length <= cutoff)
+            bucketSort.sort(array, counting);
+        else
+        {
+            metrics.allocated(array.length);
+            @SuppressWarnings("unchecked")
+            T[] buffer = (T[]) new Object[array.length];
+            byte[] oracle = new byte[array.length];
+            pool.invoke(ForkJoinTask.adapt(() -> sort(array, buffer, oracle, 0, array.length, counting)));
+        }
+        metrics.compared(comparisons.sum());
+        end(start);
+        return array;
+    }
+
+    /**
+     * Copies the list into an array, sorts it and writes the result back into the list.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        return sort(list, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sample sorts [low, high) of ARRAY, using the same range of BUFFER and ORACLE as scratch space. Runs inside the
+     * pool.
+     */
+    private <T> void sort(T[] array, T[] buffer, byte[] oracle, int low, int high, Comparator<? super T> comparator)
+    {
+        int size = high - low;
+        int logBuckets = Math.min(MAX_LOG_BUCKETS, Quicksort.log2(size / cutoff) + 1);
+        int buckets = 1 << logBuckets;
+        T[] tree = splitterTree(array, low, high, buckets, comparator);
+
+        int blocks = blocks(size);
+        int[][] counts = new int[blocks][buckets];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block ++)
+        {
+            int from = blockStart(low, size, blocks, block);
+            int to = blockStart(low, size, blocks, block + 1);
+            int[] count = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> classify(array, oracle, from, to, tree, logBuckets, count,
+                                                        comparator)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int[] bucketStart = offsets(counts, low, buckets);
+
+        tasks.clear();
+        for (int block = 0; block < blocks; block ++)
+        {
+            int from = blockStart(low, size, blocks, block);
+            int to = blockStart(low, size, blocks, block + 1);
+            int[] next = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (int i = from; i < to; i ++)
+                    buffer[next[oracle[i] & 0xFF] ++] = array[i];
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        tasks.clear();
+        for (int bucket = 0; bucket < buckets; bucket ++)
+        {
+            int start = bucketStart[bucket];
+            int end = bucketStart[bucket + 1];
+            if (end - start > 1)
+                tasks.add(ForkJoinTask.adapt(() -> sortBucket(array, buffer, oracle, start, end, size, comparator)));
+            else if (end - start == 1)
+                array[start] = buffer[start];
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * Moves the bucket [start, end) from BUFFER back into ARRAY and sorts it there. PARENT is the size of the range
+     * the bucket came from, so that a bucket that didn't shrink isn't split again.
+     */
+    private <T> void sortBucket(T[] array, T[] buffer, byte[] oracle, int start, int end, int parent,
+                                Comparator<? super T> comparator)
+    {
+        int size = end - start;
+        System.arraycopy(buffer, start, array, start, size);
+        if (size > cutoff && size < parent)
+            sort(array, buffer, oracle, start, end, comparator);
+        else
+            bucketSort.sortRange(array, start, end, comparator);
+    }
+
+    /**
+     * Classifies ARRAY[from, to) against the splitter TREE, recording every element's bucket in ORACLE and counting
+     * the elements in every bucket in COUNT. Elements equal to a splitter go to the bucket on its left.
+     */
+    private static <T> void classify(T[] array, byte[] oracle, int from, int to, T[] tree, int logBuckets,
+                                     int[] count, Comparator<? super T> comparator)
+    {
+        int buckets = 1 << logBuckets;
+        for (int i = from; i < to; i ++)
+        {
+            T element = array[i];
+            int node = 1;
+            for (int level = 0; level < logBuckets; level ++)
+                node = 2 * node + (comparator.compare(tree[node], element) < 0 ? 1 : 0);
+            int bucket = node - buckets;
+            oracle[i] = (byte) bucket;
+            count[bucket] ++;
+        }
+    }
+
+    /**
+     * Draws OVERSAMPLING random elements per bucket from [low, high) of ARRAY, sorts them, and lays every
+     * OVERSAMPLING-th one out as an implicit binary search tree: the root at index 1 and the children of j at 2j and
+     * 2j + 1. Index 0 is unused.
+     */
+    private static <T> T[] splitterTree(T[] array, int low, int high, int buckets, Comparator<? super T> comparator)
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        @SuppressWarnings("unchecked")
+        T[] sample = (T[]) new Object[buckets * OVERSAMPLING];
+        for (int i = 0; i < sample.length; i ++)
+            sample[i] = array[random.nextInt(low, high)];
+        new Quicksort().sort(sample, comparator);
+
+        @SuppressWarnings("unchecked")
+        T[] tree = (T[]) new Object[buckets];
+        fillTree(tree, 1, sample, 1, buckets);
+        return tree;
+    }
+
+    /** Stores the splitters numbered [from, to) in the subtree of TREE rooted at NODE, in order. */
+    private static void fillTree(Object[] tree, int node, Object[] sample, int from, int to)
+    {
+        if (node >= tree.length)
+            return;
+        int middle = (from + to) >>> 1;
+        tree[node] = sample[middle * OVERSAMPLING - 1];
+        fillTree(tree, 2 * node, sample, from, middle);
+        fillTree(tree, 2 * node + 1, sample, middle + 1, to);
+    }
+
+    /**
+     * Sorts ARRAY in place without boxing a single int.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public int[] sort(int[] array)
+    {
+        long start = begin(array.length);
+        if (array.length <= cutoff)
+            bucketSort.sort(array);
+        else
+        {
+            metrics.allocated(array.length);
+            int[] buffer = new int[array.length];
+            byte[] oracle = new byte[array.length];
+            pool.invoke(ForkJoinTask.adapt(() -> sort(array, buffer, oracle, 0, array.length)));
+        }
+        end(start);
+        return array;
+    }
+
+    /** Sample sorts [low, high) of ARRAY, using the same range of BUFFER and ORACLE as scratch space. */
+    private void sort(int[] array, int[] buffer, byte[] oracle, int low, int high)
+    {
+        int size = high - low;
+        int logBuckets = Math.min(MAX_LOG_BUCKETS, Quicksort.log2(size / cutoff) + 1);
+        int buckets = 1 << logBuckets;
+        int[] tree = splitterTree(array, low, high, buckets);
+
+        int blocks = blocks(size);
+        int[][] counts = new int[blocks][buckets];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block ++)
+        {
+            int from = blockStart(low, size, blocks, block);
+            int to = blockStart(low, size, blocks, block + 1);
+            int[] count = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> classify(array, oracle, from, to, tree, logBuckets, count)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int[] bucketStart = offsets(counts, low, buckets);
+
+        tasks.clear();
+        for (int block = 0; block < blocks; block ++)
+        {
+            int from = blockStart(low, size, blocks, block);
+            int to = blockStart(low, size, blocks, block + 1);
+            int[] next = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (int i = from; i < to; i ++)
+                    buffer[next[oracle[i] & 0xFF] ++] = array[i];
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        tasks.clear();
+        for (int bucket = 0; bucket < buckets; bucket ++)
+        {
+            int start = bucketStart[bucket];
+            int end = bucketStart[bucket + 1];
+            if (end - start > 0)
+                tasks.add(ForkJoinTask.adapt(() -> sortBucket(array, buffer, oracle, start, end, size)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /** Moves the bucket [start, end) from BUFFER back into ARRAY and sorts it there. */
+    private void sortBucket(int[] array, int[] buffer, byte[] oracle, int start, int end, int parent)
+    {
+        int size = end - start;
+        System.arraycopy(buffer, start, array, start, size);
+        if (size > cutoff && size < parent)
+            sort(array, buffer, oracle, start, end);
+        else
+            bucketSort.sortRange(array, start, end);
+    }
+
+    /** Classifies ARRAY[from, to) against the splitter TREE without branching on the data. */
+    private static void classify(int[] array, byte[] oracle, int from, int to, int[] tree, int logBuckets,
+                                 int[] count)
+    {
+        int buckets = 1 << logBuckets;
+        for (int i = from; i < to; i ++)
+        {
+            int value = array[i];
+            int node = 1;
+            for (int level = 0; level < logBuckets; level ++)
+                node = 2 * node + (tree[node] < value ? 1 : 0);
+            int bucket = node - buckets;
+            oracle[i] = (byte) bucket;
+            count[bucket] ++;
+        }
+    }
+
+    /** Builds the implicit splitter tree for [low, high) of ARRAY. */
+    private static int[] splitterTree(int[] array, int low, int high, int buckets)
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] sample = new int[buckets * OVERSAMPLING];
+        for (int i = 0; i < sample.length; i ++)
+            sample[i] = array[random.nextInt(low, high)];
+        Quicksort.sort(sample, 0, sample.length);
+
+        int[] tree = new int[buckets];
+        fillTree(tree, 1, sample, 1, buckets);
+        return tree;
+    }
+
+    /** Stores the splitters numbered [from, to) in the subtree of TREE rooted at NODE, in order. */
+    private static void fillTree(int[] tree, int node, int[] sample, int from, int to)
+    {
+        if (node >= tree.length)
+            return;
+        int middle = (from + to) >>> 1;
+        tree[node] = sample[middle * OVERSAMPLING - 1];
+        fillTree(tree, 2 * node, sample, from, middle);
+        fillTree(tree, 2 * node + 1, sample, middle + 1, to);
+    }
+
+    /**
+     * Sorts ARRAY in place without boxing a single long.
+     * @param array
+     * @return the same array, sorted
+     */
+    @Override
+    public long[] sort(long[] array)
+    {
+        long start = begin(array.length);
+        if (array.length <= cutoff)
+            bucketSort.sort(array);
+        else
+        {
+            metrics.allocated(array.length);
+            long[] buffer = new long[array.length];
+            byte[] oracle = new byte[array.length];
+            pool.invoke(ForkJoinTask.adapt(() -> sort(array, buffer, oracle, 0, array.length)));
+        }
+        end(start);
+        return array;
+    }
+
+    /** Sample sorts [low, high) of ARRAY, using the same range of BUFFER and ORACLE as scratch space. */
+    private void sort(long[] array, long[] buffer, byte[] oracle, int low, int high)
+    {
+        int size = high - low;
+        int logBuckets = Math.min(MAX_LOG_BUCKETS, Quicksort.log2(size / cutoff) + 1);
+        int buckets = 1 << logBuckets;
+        long[] tree = splitterTree(array, low, high, buckets);
+
+        int blocks = blocks(size);
+        int[][] counts = new int[blocks][buckets];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block ++)
+        {
+            int from = blockStart(low, size, blocks, block);
+            int to = blockStart(low, size, blocks, block + 1);
+            int[] count = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> classify(array, oracle, from, to, tree, logBuckets, count)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        int[] bucketStart = offsets(counts, low, buckets);
+
+        tasks.clear();
+        for (int block = 0; block < blocks; block ++)
+        {
+            int from = blockStart(low, size, blocks, block);
+            int to = blockStart(low, size, blocks, block + 1);
+            int[] next = counts[block];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (int i = from; i < to; i ++)
+                    buffer[next[oracle[i] & 0xFF] ++] = array[i];
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        tasks.clear();
+        for (int bucket = 0; bucket < buckets; bucket ++)
+        {
+            int start = bucketStart[bucket];
+            int end = bucketStart[bucket + 1];
+            if (end - start > 0)
+                tasks.add(ForkJoinTask.adapt(() -> sortBucket(array, buffer, oracle, start, end, size)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /** Moves the bucket [start, end) from BUFFER back into ARRAY and sorts it there. */
+    private void sortBucket(long[] array, long[] buffer, byte[] oracle, int start, int end, int parent)
+    {
+        int size = end - start;
+        System.arraycopy(buffer, start, array, start, size);
+        if (size > cutoff && size < parent)
+            sort(array, buffer, oracle, start, end);
+        else
+            bucketSort.sortRange(array, start, end);
+    }
+
+    /** Classifies ARRAY[from, to) against the splitter TREE without branching on the data. */
+    private static void classify(long[] array, byte[] oracle, int from, int to, long[] tree, int logBuckets,
+                                 int[] count)
+    {
+        int buckets = 1 << logBuckets;
+        for (int i = from; i < to; i ++)
+        {
+            long value = array[i];
+            int node = 1;
+            for (int level = 0; level < logBuckets; level ++)
+                node = 2 * node + (tree[node] < value ? 1 : 0);
+            int bucket = node - buckets;
+            oracle[i] = (byte) bucket;
+            count[bucket] ++;
+        }
+    }
+
+    /** Builds the implicit splitter tree for [low, high) of ARRAY. */
+    private static long[] splitterTree(long[] array, int low, int high, int buckets)
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] sample = new long[buckets * OVERSAMPLING];
+        for (int i = 0; i < sample.length; i ++)
+            sample[i] = array[random.nextInt(low, high)];
+        Quicksort.sort(sample, 0, sample.length);
+
+        long[] tree = new long[buckets];
+        fillTree(tree, 1, sample, 1, buckets);
+        return tree;
+    }
+
+    /** Stores the splitters numbered [from, to) in the subtree of TREE rooted at NODE, in order. */
+    private static void fillTree(long[] tree, int node, long[] sample, int from, int to)
+    {
+        if (node >= tree.length)
+            return;
+        int middle = (from + to) >>> 1;
+        tree[node] = sample[middle * OVERSAMPLING - 1];
+        fillTree(tree, 2 * node, sample, from, middle);
+        fillTree(tree, 2 * node + 1, sample, middle + 1, to);
+    }
+
+    /** Returns how many blocks a range of SIZE elements is classified and scattered in. */
+    private int blocks(int size)
+    {
+        return Math.max(1, Math.min(4 * pool.getParallelism(), size / cutoff));
+    }
+
+    /** Returns where block BLOCK of BLOCKS starts in a range of SIZE elements beginning at LOW. */
+    private static int blockStart(int low, int size, int blocks, int block)
+    {
+        return low + (int) ((long) size * block / blocks);
+    }
+
+    /**
+     * Turns the per block bucket COUNTS into the position each block writes its first element of each bucket to,
+     * bucket by bucket and block by block within a bucket, starting at LOW.
+     * @return the start of every bucket, plus the end of the last one
+     */
+    private static int[] offsets(int[][] counts, int low, int buckets)
+    {
+        int[] bucketStart = new int[buckets + 1];
+        int position = low;
+        for (int bucket = 0; bucket < buckets; bucket ++)
+        {
+            bucketStart[bucket] = position;
+            for (int[] count : counts)
+            {
+                int size = count[bucket];
+                count[bucket] = position;
+                position += size;
+            }
+        }
+        bucketStart[buckets] = position;
+        return bucketStart;
+    }
+}
@@ -0,0 +1,866 @@
+package main.com.acscooter.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Selection is the problem of finding the element that would land at position n if the input were sorted, without
+ * actually sorting it. Quickselect (Hoare, 1961) does this by partitioning around a pivot like quicksort does, except
+ * it only follows the side that contains n. Since the other side is thrown away, the expected work is n + n/2 + n/4
+ * + ... = O(n) instead of O(n log n). Once the nth element is in place everything before it is no greater and
+ * everything after it is no smaller, which is also all that partial sorts, top-k queries and quantiles need.
+ *
+ * Like quicksort, quickselect has a quadratic worst case when the pivots keep coming out lopsided. The fix here is
+ * introselect (Musser, 1997). Pivots start out as the median of three, which is cheap and almost always good enough.
+ * Every two partitions we check that the range at least halved, and if it didn't the rest of the selection switches
+ * to the median of medians (Blum, Floyd, Pratt, Rivest and Tarjan, 1973). That pivot is guaranteed to throw away at
+ * least 30% of the range each round, so the whole thing is linear in the worst case. Partitioning is three-way, so
+ * a range full of equal elements is finished in one pass instead of being split over and over.
+ *
+ * Everything happens in place. Arrays are worked on directly and RandomAccess lists through get and set, while any
+ * other list is copied out, worked on and written back. Quantiles are computed with a single multi-selection: the
+ * middle requested rank is selected first, which splits the remaining ranks into two independent subproblems, so k
+ * quantiles cost O(n log k) rather than k separate selections. The long and double overloads exist for the common
+ * case of crunching latency samples, where boxing millions of numbers would cost more than the selection itself.
+ * NaNs count as greater than everything, as in Double.compare, while -0.0 and 0.0 are treated as equal.
+ */
+public final class Selection
+{
+    /** Ranges of at most this many elements are simply insertion sorted. */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private Selection()
+    {
+    }
+
+    /**
+     * Rearranges ARRAY so that the element at N is the one that would be there if ARRAY were sorted, everything
+     * before it is no greater and everything after it is no smaller.
+     * @param array
+     * @param n
+     * @param <T>
+     */
+    public static <T extends Comparable<? super T>> void nthElement(T[] array, int n)
+    {
+        nthElement(array, n, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Rearranges ARRAY so that the element at N is the one that would be there if ARRAY were sorted with COMPARATOR,
+     * everything before it is no greater and everything after it is no smaller.
+     * @param array
+     * @param n
+     * @param comparator
+     * @param <T>
+     */
+    public static <T> void nthElement(T[] array, int n, Comparator<? super T> comparator)
+    {
+        checkIndex(n, array.length);
+        select(Arrays.asList(array), 0, array.length, n, comparator);
+    }
+
+    /**
+     * Rearranges LIST so that the element at N is the one that would be there if LIST were sorted, everything before
+     * it is no greater and everything after it is no smaller.
+     * @param list
+     * @param n
+     * @param <T>
+     */
+    public static <T extends Comparable<? super T>> void nthElement(List<T> list, int n)
+    {
+        nthElement(list, n, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Rearranges LIST so that the element at N is the one that would be there if LIST were sorted with COMPARATOR,
+     * everything before it is no greater and everything after it is no smaller.
+     * @param list
+     * @param n
+     * @param comparator
+     * @param <T>
+     */
+    public static <T> void nthElement(List<T> list, int n, Comparator<? super T> comparator)
+    {
+        checkIndex(n, list.size());
+        List<T> target = randomAccess(list);
+        select(target, 0, target.size(), n, comparator);
+        copyBack(target, list);
+    }
+
+    /**
+     * Returns the element that would be at N if ARRAY were sorted. ARRAY is rearranged as in nthElement.
+     * @param array
+     * @param n
+     * @param <T>
+     * @return the nth smallest element
+     */
+    public static <T extends Comparable<? super T>> T select(T[] array, int n)
+    {
+        return select(array, n, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Returns the element that would be at N if ARRAY were sorted with COMPARATOR. ARRAY is rearranged as in
+     * nthElement.
+     * @param array
+     * @param n
+     * @param comparator
+     * @param <T>
+     * @return the nth smallest element
+     */
+    public static <T> T select(T[] array, int n, Comparator<? super T> comparator)
+    {
+        nthElement(array, n, comparator);
+        return array[n];
+    }
+
+    /**
+     * Returns the element that would be at N if LIST were sorted. LIST is rearranged as in nthElement.
+     * @param list
+     * @param n
+     * @param <T>
+     * @return the nth smallest element
+     */
+    public static <T extends Comparable<? super T>> T select(List<T> list, int n)
+    {
+        return select(list, n, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Returns the element that would be at N if LIST were sorted with COMPARATOR. LIST is rearranged as in
+     * nthElement.
+     * @param list
+     * @param n
+     * @param comparator
+     * @param <T>
+     * @return the nth smallest element
+     */
+    public static <T> T select(List<T> list, int n, Comparator<? super T> comparator)
+    {
+        nthElement(list, n, comparator);
+        return list.get(n);
+    }
+
+    /**
+     * Rearranges ARRAY so that its first K elements are its K smallest, in sorted order. The order of the rest is
+     * unspecified.
+     * @param array
+     * @param k
+     * @param <T>
+     */
+    public static <T extends Comparable<? super T>> void partialSort(T[] array, int k)
+    {
+        partialSort(array, k, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Rearranges ARRAY so that its first K elements are its K smallest according to COMPARATOR, in sorted order. The
+     * order of the rest is unspecified.
+     * @param array
+     * @param k
+     * @param comparator
+     * @param <T>
+     */
+    public static <T> void partialSort(T[] array, int k, Comparator<? super T> comparator)
+    {
+        checkCount(k, array.length);
+        if (k < array.length)
+            select(Arrays.asList(array), 0, array.length, k, comparator);
+        new Quicksort().sort(array, 0, k, comparator);
+    }
+
+    /**
+     * Rearranges LIST so that its first K elements are its K smallest, in sorted order. The order of the rest is
+     * unspecified.
+     * @param list
+     * @param k
+     * @param <T>
+     */
+    public static <T extends Comparable<? super T>> void partialSort(List<T> list, int k)
+    {
+        partialSort(list, k, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Rearranges LIST so that its first K elements are its K smallest according to COMPARATOR, in sorted order. The
+     * order of the rest is unspecified.
+     * @param list
+     * @param k
+     * @param comparator
+     * @param <T>
+     */
+    public static <T> void partialSort(List<T> list, int k, Comparator<? super T> comparator)
+    {
+        checkCount(k, list.size());
+        List<T> target = randomAccess(list);
+        if (k < target.size())
+            select(target, 0, target.size(), k, comparator);
+        new Quicksort().sort(target.subList(0, k), comparator);
+        copyBack(target, list);
+    }
+
+    /**
+     * Returns the K greatest elements of ARRAY, greatest first. ARRAY is rearranged so that they are also its first K
+     * elements.
+     * @param array
+     * @param k
+     * @param <T>
+     * @return a new array holding the K greatest elements in descending order
+     */
+    public static <T extends Comparable<? super T>> T[] topK(T[] array, int k)
+    {
+        return topK(array, k, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Returns the K greatest elements of ARRAY according to COMPARATOR, greatest first. ARRAY is rearranged so that
+     * they are also its first K elements.
+     * @param array
+     * @param k
+     * @param comparator
+     * @param <T>
+     * @return a new array holding the K greatest elements in descending order
+     */
+    public static <T> T[] topK(T[] array, int k, Comparator<? super T> comparator)
+    {
+        partialSort(array, k, reverse(comparator));
+        return Arrays.copyOf(array, k);
+    }
+
+    /**
+     * Returns the K greatest elements of LIST, greatest first. LIST is rearranged so that they are also its first K
+     * elements.
+     * @param list
+     * @param k
+     * @param <T>
+     * @return a new list holding the K greatest elements in descending order
+     */
+    public static <T extends Comparable<? super T>> List<T> topK(List<T> list, int k)
+    {
+        return topK(list, k, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Returns the K greatest elements of LIST according to COMPARATOR, greatest first. LIST is rearranged so that
+     * they are also its first K elements.
+     * @param list
+     * @param k
+     * @param comparator
+     * @param <T>
+     * @return a new list holding the K greatest elements in descending order
+     */
+    public static <T> List<T> topK(List<T> list, int k, Comparator<? super T> comparator)
+    {
+        partialSort(list, k, reverse(comparator));
+        return new ArrayList<>(list.subList(0, k));
+    }
+
+    /**
+     * Returns the given quantiles of ARRAY using the nearest rank definition: the quantile p is the element at
+     * ceil(p * n) - 1 in sorted order, or the smallest element for p = 0. ARRAY is rearranged so that each of those
+     * elements sits at its sorted position.
+     * @param array
+     * @param fractions each between 0 and 1 inclusive
+     * @param <T>
+     * @return the quantiles, in the same order as FRACTIONS
+     */
+    public static <T extends Comparable<? super T>> List<T> quantiles(T[] array, double... fractions)
+    {
+        return quantiles(array, Comparator.<T>naturalOrder(), fractions);
+    }
+
+    /**
+     * Returns the given quantiles of ARRAY ordered by COMPARATOR, using the nearest rank definition. ARRAY is
+     * rearranged so that each of those elements sits at its sorted position.
+     * @param array
+     * @param comparator
+     * @param fractions each between 0 and 1 inclusive
+     * @param <T>
+     * @return the quantiles, in the same order as FRACTIONS
+     */
+    public static <T> List<T> quantiles(T[] array, Comparator<? super T> comparator, double... fractions)
+    {
+        return quantiles(Arrays.asList(array), comparator, fractions);
+    }
+
+    /**
+     * Returns the given quantiles of LIST using the nearest rank definition. LIST is rearranged so that each of those
+     * elements sits at its sorted position.
+     * @param list
+     * @param fractions each between 0 and 1 inclusive
+     * @param <T>
+     * @return the quantiles, in the same order as FRACTIONS
+     */
+    public static <T extends Comparable<? super T>> List<T> quantiles(List<T> list, double... fractions)
+    {
+        return quantiles(list, Comparator.<T>naturalOrder(), fractions);
+    }
+
+    /**
+     * Returns the given quantiles of LIST ordered by COMPARATOR, using the nearest rank definition. LIST is rearranged
+     * so that each of those elements sits at its sorted position.
+     * @param list
+     * @param comparator
+     * @param fractions each between 0 and 1 inclusive
+     * @param <T>
+     * @return the quantiles, in the same order as FRACTIONS
+     */
+    public static <T> List<T> quantiles(List<T> list, Comparator<? super T> comparator, double... fractions)
+    {
+        int[] ranks = ranks(fractions, list.size());
+        List<T> target = randomAccess(list);
+        int[] distinct = distinct(ranks);
+        multiSelect(target, 0, target.size(), distinct, 0, distinct.length, comparator);
+        copyBack(target, list);
+
+        List<T> result = new ArrayList<>(ranks.length);
+        for (int rank : ranks)
+            result.add(target.get(rank));
+        return result;
+    }
+
+    /**
+     * Selects every rank in RANKS[from, to) within the range [low, high) of LIST. The ranks must be sorted, distinct
+     * and inside the range.
+     */
+    private static <T> void multiSelect(List<T> list, int low, int high, int[] ranks, int from, int to,
+                                        Comparator<? super T> comparator)
+    {
+        while (from < to)
+        {
+            int middle = (from + to) >>> 1;
+            int rank = ranks[middle];
+            select(list, low, high, rank, comparator);
+            if (middle - from < to - middle)
+            {
+                multiSelect(list, low, rank, ranks, from, middle, comparator);
+                low = rank + 1;
+                from = middle + 1;
+            }
+            else
+            {
+                multiSelect(list, rank + 1, high, ranks, middle + 1, to, comparator);
+                high = rank;
+                to = middle;
+            }
+        }
+    }
+
+    /**
+     * The introselect loop. Narrows [low, high) down to the slice of elements equal to the nth smallest, switching
+     * from median of three to median of medians pivots if the range stops halving every two rounds.
+     */
+    private static <T> void select(List<T> list, int low, int high, int n, Comparator<? super T> comparator)
+    {
+        int checkpoint = high - low;
+        int rounds = 0;
+        boolean guaranteed = false;
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            int index = guaranteed ? medianOfMedians(list, low, high, comparator)
+                                   : medianOfThree(list, low, low + (high - low) / 2, high - 1, comparator);
+            T pivot = list.get(index);
+
+            int less = low;
+            int i = low;
+            int greater = high;
+            while (i < greater)
+            {
+                int comparison = comparator.compare(list.get(i), pivot);
+                if (comparison < 0)
+                    swap(list, less ++, i ++);
+                else if (comparison > 0)
+                    swap(list, i, -- greater);
+                else
+                    i ++;
+            }
+
+            if (n < less)
+                high = less;
+            else if (n >= greater)
+                low = greater;
+            else
+                return;
+
+            if (++ rounds == 2)
+            {
+                guaranteed |= high - low > checkpoint / 2;
+                checkpoint = high - low;
+                rounds = 0;
+            }
+        }
+        insertionSort(list, low, high, comparator);
+    }
+
+    /**
+     * Insertion sorts groups of five in [low, high), gathers their medians at the front of the range and selects the
+     * median of those.
+     * @return the index of the median of medians
+     */
+    private static <T> int medianOfMedians(List<T> list, int low, int high, Comparator<? super T> comparator)
+    {
+        int medians = low;
+        for (int start = low; start < high; start += 5)
+        {
+            int end = Math.min(start + 5, high);
+            insertionSort(list, start, end, comparator);
+            swap(list, medians ++, start + (end - start - 1) / 2);
+        }
+        int middle = low + (medians - low) / 2;
+        select(list, low, medians, middle, comparator);
+        return middle;
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three elements. */
+    private static <T> int medianOfThree(List<T> list, int a, int b, int c, Comparator<? super T> comparator)
+    {
+        T x = list.get(a);
+        T y = list.get(b);
+        T z = list.get(c);
+        if (comparator.compare(x, y) < 0)
+            return comparator.compare(y, z) < 0 ? b : comparator.compare(x, z) < 0 ? c : a;
+        return comparator.compare(x, z) < 0 ? a : comparator.compare(y, z) < 0 ? c : b;
+    }
+
+    /** Insertion sorts the range [low, high) of LIST. */
+    private static <T> void insertionSort(List<T> list, int low, int high, Comparator<? super T> comparator)
+    {
+        for (int i = low + 1; i < high; i ++)
+        {
+            T key = list.get(i);
+            int j = i - 1;
+            while (j >= low && comparator.compare(key, list.get(j)) < 0)
+            {
+                list.set(j + 1, list.get(j));
+                j --;
+            }
+            list.set(j + 1, key);
+        }
+    }
+
+    /** Exchanges the elements at I and J. */
+    private static <T> void swap(List<T> list, int i, int j)
+    {
+        list.set(i, list.set(j, list.get(i)));
+    }
+
+    /**
+     * Rearranges ARRAY so that the element at N is the one that would be there if ARRAY were sorted, everything
+     * before it is no greater and everything after it is no smaller.
+     * @param array
+     * @param n
+     */
+    public static void nthElement(long[] array, int n)
+    {
+        checkIndex(n, array.length);
+        select(array, 0, array.length, n);
+    }
+
+    /**
+     * Returns the element that would be at N if ARRAY were sorted. ARRAY is rearranged as in nthElement.
+     * @param array
+     * @param n
+     * @return the nth smallest element
+     */
+    public static long select(long[] array, int n)
+    {
+        nthElement(array, n);
+        return array[n];
+    }
+
+    /**
+     * Rearranges ARRAY so that its first K elements are its K smallest, in sorted order.
+     * @param array
+     * @param k
+     */
+    public static void partialSort(long[] array, int k)
+    {
+        checkCount(k, array.length);
+        if (k < array.length)
+            select(array, 0, array.length, k);
+        Quicksort.sort(array, 0, k);
+    }
+
+    /**
+     * Returns the K greatest elements of ARRAY, greatest first. ARRAY is rearranged so that they are its last K
+     * elements, in ascending order.
+     * @param array
+     * @param k
+     * @return a new array holding the K greatest elements in descending order
+     */
+    public static long[] topK(long[] array, int k)
+    {
+        checkCount(k, array.length);
+        int from = array.length - k;
+        if (from > 0)
+            select(array, 0, array.length, from);
+        Quicksort.sort(array, from, array.length);
+
+        long[] top = new long[k];
+        for (int i = 0; i < k; i ++)
+            top[i] = array[array.length - 1 - i];
+        return top;
+    }
+
+    /**
+     * Returns the given quantiles of ARRAY using the nearest rank definition. ARRAY is rearranged so that each of
+     * those elements sits at its sorted position.
+     * @param array
+     * @param fractions each between 0 and 1 inclusive
+     * @return the quantiles, in the same order as FRACTIONS
+     */
+    public static long[] quantiles(long[] array, double... fractions)
+    {
+        int[] ranks = ranks(fractions, array.length);
+        int[] distinct = distinct(ranks);
+        multiSelect(array, 0, array.length, distinct, 0, distinct.length);
+
+        long[] result = new long[ranks.length];
+        for (int i = 0; i < ranks.length; i ++)
+            result[i] = array[ranks[i]];
+        return result;
+    }
+
+    /** Selects every rank in RANKS[from, to) within the range [low, high) of ARRAY. */
+    private static void multiSelect(long[] array, int low, int high, int[] ranks, int from, int to)
+    {
+        while (from < to)
+        {
+            int middle = (from + to) >>> 1;
+            int rank = ranks[middle];
+            select(array, low, high, rank);
+            if (middle - from < to - middle)
+            {
+                multiSelect(array, low, rank, ranks, from, middle);
+                low = rank + 1;
+                from = middle + 1;
+            }
+            else
+            {
+                multiSelect(array, rank + 1, high, ranks, middle + 1, to);
+                high = rank;
+                to = middle;
+            }
+        }
+    }
+
+    /** The introselect loop for longs. */
+    private static void select(long[] array, int low, int high, int n)
+    {
+        int checkpoint = high - low;
+        int rounds = 0;
+        boolean guaranteed = false;
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            int index = guaranteed ? medianOfMedians(array, low, high)
+                                   : medianOfThree(array, low, low + (high - low) / 2, high - 1);
+            long pivot = array[index];
+
+            int less = low;
+            int i = low;
+            int greater = high;
+            while (i < greater)
+            {
+                if (array[i] < pivot)
+                    Quicksort.swap(array, less ++, i ++);
+                else if (array[i] > pivot)
+                    Quicksort.swap(array, i, -- greater);
+                else
+                    i ++;
+            }
+
+            if (n < less)
+                high = less;
+            else if (n >= greater)
+                low = greater;
+            else
+                return;
+
+            if (++ rounds == 2)
+            {
+                guaranteed |= high - low > checkpoint / 2;
+                checkpoint = high - low;
+                rounds = 0;
+            }
+        }
+        InsertionSort.sort(array, low, high);
+    }
+
+    /** Returns the index of the median of medians of [low, high). */
+    private static int medianOfMedians(long[] array, int low, int high)
+    {
+        int medians = low;
+        for (int start = low; start < high; start += 5)
+        {
+            int end = Math.min(start + 5, high);
+            InsertionSort.sort(array, start, end);
+            Quicksort.swap(array, medians ++, start + (end - start - 1) / 2);
+        }
+        int middle = low + (medians - low) / 2;
+        select(array, low, medians, middle);
+        return middle;
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three elements. */
+    private static int medianOfThree(long[] array, int a, int b, int c)
+    {
+        if (array[a] < array[b])
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        return array[a] < array[c] ? a : array[b] < array[c] ? c : b;
+    }
+
+    /**
+     * Rearranges ARRAY so that the element at N is the one that would be there if ARRAY were sorted, everything
+     * before it is no greater and everything after it is no smaller.
+     * @param array
+     * @param n
+     */
+    public static void nthElement(double[] array, int n)
+    {
+        checkIndex(n, array.length);
+        int high = moveNaNsToEnd(array);
+        if (n < high)
+            select(array, 0, high, n);
+    }
+
+    /**
+     * Returns the element that would be at N if ARRAY were sorted. ARRAY is rearranged as in nthElement.
+     * @param array
+     * @param n
+     * @return the nth smallest element
+     */
+    public static double select(double[] array, int n)
+    {
+        nthElement(array, n);
+        return array[n];
+    }
+
+    /**
+     * Rearranges ARRAY so that its first K elements are its K smallest, in sorted order.
+     * @param array
+     * @param k
+     */
+    public static void partialSort(double[] array, int k)
+    {
+        checkCount(k, array.length);
+        int high = moveNaNsToEnd(array);
+        if (k < high)
+            select(array, 0, high, k);
+        Quicksort.sort(array, 0, Math.min(k, high));
+    }
+
+    /**
+     * Returns the K greatest elements of ARRAY, greatest first. ARRAY is rearranged so that they are its last K
+     * elements, in ascending order.
+     * @param array
+     * @param k
+     * @return a new array holding the K greatest elements in descending order
+     */
+    public static double[] topK(double[] array, int k)
+    {
+        checkCount(k, array.length);
+        int high = moveNaNsToEnd(array);
+        int from = array.length - k;
+        if (from > 0 && from < high)
+            select(array, 0, high, from);
+        if (from < high)
+            Quicksort.sort(array, from, high);
+
+        double[] top = new double[k];
+        for (int i = 0; i < k; i ++)
+            top[i] = array[array.length - 1 - i];
+        return top;
+    }
+
+    /**
+     * Returns the given quantiles of ARRAY using the nearest rank definition. ARRAY is rearranged so that each of
+     * those elements sits at its sorted position.
+     * @param array
+     * @param fractions each between 0 and 1 inclusive
+     * @return the quantiles, in the same order as FRACTIONS
+     */
+    public static double[] quantiles(double[] array, double... fractions)
+    {
+        int[] ranks = ranks(fractions, array.length);
+        int[] distinct = distinct(ranks);
+        int high = moveNaNsToEnd(array);
+        int to = 0;
+        while (to < distinct.length && distinct[to] < high)
+            to ++;
+        multiSelect(array, 0, high, distinct, 0, to);
+
+        double[] result = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i ++)
+            result[i] = array[ranks[i]];
+        return result;
+    }
+
+    /** Selects every rank in RANKS[from, to) within the range [low, high) of ARRAY. */
+    private static void multiSelect(double[] array, int low, int high, int[] ranks, int from, int to)
+    {
+        while (from < to)
+        {
+            int middle = (from + to) >>> 1;
+            int rank = ranks[middle];
+            select(array, low, high, rank);
+            if (middle - from < to - middle)
+            {
+                multiSelect(array, low, rank, ranks, from, middle);
+                low = rank + 1;
+                from = middle + 1;
+            }
+            else
+            {
+                multiSelect(array, rank + 1, high, ranks, middle + 1, to);
+                high = rank;
+                to = middle;
+            }
+        }
+    }
+
+    /** The introselect loop for doubles. */
+    private static void select(double[] array, int low, int high, int n)
+    {
+        int checkpoint = high - low;
+        int rounds = 0;
+        boolean guaranteed = false;
+        while (high - low > INSERTION_THRESHOLD)
+        {
+            int index = guaranteed ? medianOfMedians(array, low, high)
+                                   : medianOfThree(array, low, low + (high - low) / 2, high - 1);
+            double pivot = array[index];
+
+            int less = low;
+            int i = low;
+            int greater = high;
+            while (i < greater)
+            {
+                if (array[i] < pivot)
+                    Quicksort.swap(array, less ++, i ++);
+                else if (array[i] > pivot)
+                    Quicksort.swap(array, i, -- greater);
+                else
+                    i ++;
+            }
+
+            if (n < less)
+                high = less;
+            else if (n >= greater)
+                low = greater;
+            else
+                return;
+
+            if (++ rounds == 2)
+            {
+                guaranteed |= high - low > checkpoint / 2;
+                checkpoint = high - low;
+                rounds = 0;
+            }
+        }
+        InsertionSort.sort(array, low, high);
+    }
+
+    /** Returns the index of the median of medians of [low, high). */
+    private static int medianOfMedians(double[] array, int low, int high)
+    {
+        int medians = low;
+        for (int start = low; start < high; start += 5)
+        {
+            int end = Math.min(start + 5, high);
+            InsertionSort.sort(array, start, end);
+            Quicksort.swap(array, medians ++, start + (end - start - 1) / 2);
+        }
+        int middle = low + (medians - low) / 2;
+        select(array, low, medians, middle);
+        return middle;
+    }
+
+    /** Returns whichever of the indices A, B and C holds the median of the three elements. */
+    private static int medianOfThree(double[] array, int a, int b, int c)
+    {
+        if (array[a] < array[b])
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        return array[a] < array[c] ? a : array[b] < array[c] ? c : b;
+    }
+
+    /** Moves the NaNs in ARRAY to its end, where Double.compare would put them, and returns how many numbers remain. */
+    private static int moveNaNsToEnd(double[] array)
+    {
+        return AbstractSort.moveNaNsToEnd(array, 0, array.length);
+    }
+
+    /** Returns the 0 based rank of each of the nearest rank quantiles FRACTIONS among SIZE elements. */
+    private static int[] ranks(double[] fractions, int size)
+    {
+        if (size == 0)
+            throw new IllegalArgumentException("Cannot take quantiles of nothing");
+
+        int[] ranks = new int[fractions.length];
+        for (int i = 0; i < fractions.length; i ++)
+        {
+            double fraction = fractions[i];
+            if (!(fraction >= 0 && fraction <= 1))
+                throw new IllegalArgumentException("Quantile out of range: " + fraction);
+            ranks[i] = Math.max(0, (int) Math.ceil(fraction * size) - 1);
+        }
+        return ranks;
+    }
+
+    /** Returns the distinct values of RANKS in ascending order. */
+    private static int[] distinct(int[] ranks)
+    {
+        int[] sorted = ranks.clone();
+        InsertionSort.sort(sorted, 0, sorted.length);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i ++)
+            if (size == 0 || sorted[size - 1] != sorted[i])
+                sorted[size ++] = sorted[i];
+        return Arrays.copyOf(sorted, size);
+    }
+
+    /** Returns COMPARATOR with its order flipped. */
+    private static <T> Comparator<T> reverse(Comparator<? super T> comparator)
+    {
+        return (a, b) -> comparator.compare(b, a);
+    }
+
+    /** Returns LIST if it supports fast indexing and a copy of it otherwise. */
+    private static <T> List<T> randomAccess(List<T> list)
+    {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+
+    /** Writes the contents of SOURCE back into TARGET if SOURCE was a copy. */
+    private static <T> void copyBack(List<T> source, List<T> target)
+    {
+        if (source == target)
+            return;
+        ListIterator<T> iterator = target.listIterator();
+        for (T element : source)
+        {
+            iterator.next();
+            iterator.set(element);
+        }
+    }
+
+    /** Throws if N is not a valid index into SIZE elements. */
+    private static void checkIndex(int n, int size)
+    {
+        if (n < 0 || n >= size)
+            throw new IndexOutOfBoundsException("Index: " + n + ", Size: " + size);
+    }
+
+    /** Throws if K is not a valid number of elements to take out of SIZE. */
+    private static void checkCount(int k, int size)
+    {
+        if (k < 0 || k > size)
+            throw new IndexOutOfBoundsException("Count: " + k + ", Size: " + size);
+    }
+}
@@ -39,12 +39,16 @@ public class SelectionSort extends AbstractSort
     @Override
     public <T extends Comparable<T>> List<T> sort(List<T> list)
     {
+        long start = begin(list.size());
+        long comparisons = 0;
+        long moves = 0;
         for (int i = 0; i < list.size(); i ++)
         {
-            int minIndex = 0;
+            int minIndex = i;
 
             for (int j = i; j < list.size(); j ++)
             {
+                comparisons ++;
                 if (list.get(j).compareTo(list.get(minIndex)) < 0)
                     minIndex = j;
             }
@@ -52,8 +56,13 @@ public class SelectionSort extends AbstractSort
             T minElement = list.get(minIndex);
             list.set(minIndex, list.get(i));
             list.set(i, minElement);
+            if (minIndex != i)
+                moves += 2;
         }
 
+        metrics.compared(comparisons);
+        metrics.moved(moves);
+        end(start);
         return list;
     }
 }
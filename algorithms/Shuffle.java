@@ -0,0 +1,612 @@
+package main.com.acscooter.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * Shuffle collects the randomized building blocks the rest of the package needs: shuffling, sampling a stream and
+ * drawing random subsets. Randomness comes from SplittableRandom. Every thread gets its own generator, split off a
+ * shared root the first time the thread asks for one, so there is no contention between threads and nothing is
+ * allocated per call once a thread is warmed up. Every method also takes an explicit generator for when a result has
+ * to be reproducible.
+ *
+ * Shuffling is the Fisher-Yates shuffle in Durstenfeld's form: walk the array from the back and swap every element
+ * with a uniformly chosen one at or before it. Each of the n! permutations comes out with the same probability, and it
+ * takes n - 1 random numbers and swaps. It is inherently sequential, since every swap depends on the ones before it,
+ * so the parallel shuffle works differently (Sanders, 1998). Every element is first assigned a uniformly random
+ * bucket, independently of all the others. The input is cut into blocks, each block draws the buckets of its elements
+ * and counts them, and a prefix sum over the counts tells every block where its share of each bucket goes, exactly as
+ * in SampleSort. The blocks then scatter their elements into a scratch array in parallel, and finally every bucket is
+ * Fisher-Yates shuffled on its own and copied back. Since the bucket of an element is independent of everything else
+ * and each bucket is shuffled uniformly, the whole permutation is uniform too. Every block and bucket draws from its
+ * own generator, split off in a fixed order, so the result depends only on the generator passed in and not on how
+ * the work gets scheduled.
+ *
+ * Reservoir sampling picks k elements uniformly from a stream of unknown length in one pass with O(k) memory. The
+ * classic algorithm (Vitter's algorithm R) draws a random number per element; algorithm L (Li, 1994) instead draws how
+ * many elements to skip before the next replacement, which needs only O(k (1 + log(n / k))) random numbers. Random
+ * k-subsets of [0, n) use Floyd's algorithm, which draws exactly k random numbers and never retries, keeping the
+ * chosen numbers in a small open addressing hash table.
+ */
+public final class Shuffle
+{
+    /** Arrays shorter than this are shuffled sequentially by the parallel shuffles. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+    /** The smallest number of elements a block of the parallel shuffle is given. */
+    private static final int MIN_BLOCK = 1 << 13;
+    /** The most buckets the parallel shuffle uses, small enough for a bucket to fit in a byte. */
+    private static final int MAX_BUCKETS = 256;
+
+    /** The generator every thread's own generator is split off. Guarded by itself. */
+    private static final SplittableRandom ROOT = new SplittableRandom();
+    /** Every thread's own generator. */
+    private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(() -> {
+        synchronized (ROOT)
+        {
+            return ROOT.split();
+        }
+    });
+
+    private Shuffle()
+    {
+    }
+
+    /**
+     * Returns the calling thread's generator. It must not be handed to another thread.
+     * @return the generator
+     */
+    public static SplittableRandom current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Shuffles ARRAY in place with the calling thread's generator.
+     * @param array
+     * @param <T>
+     * @return the same array, shuffled
+     */
+    public static <T> T[] shuffle(T[] array)
+    {
+        return shuffle(array, current());
+    }
+
+    /**
+     * Shuffles ARRAY in place with RANDOM.
+     * @param array
+     * @param random
+     * @param <T>
+     * @return the same array, shuffled
+     */
+    public static <T> T[] shuffle(T[] array, SplittableRandom random)
+    {
+        shuffle(array, 0, array.length, random);
+        return array;
+    }
+
+    /**
+     * Shuffles ARRAY in place with the calling thread's generator.
+     * @param array
+     * @return the same array, shuffled
+     */
+    public static int[] shuffle(int[] array)
+    {
+        return shuffle(array, current());
+    }
+
+    /**
+     * Shuffles ARRAY in place with RANDOM.
+     * @param array
+     * @param random
+     * @return the same array, shuffled
+     */
+    public static int[] shuffle(int[] array, SplittableRandom random)
+    {
+        shuffle(array, 0, array.length, random);
+        return array;
+    }
+
+    /**
+     * Shuffles ARRAY in place with the calling thread's generator.
+     * @param array
+     * @return the same array, shuffled
+     */
+    public static long[] shuffle(long[] array)
+    {
+        return shuffle(array, current());
+    }
+
+    /**
+     * Shuffles ARRAY in place with RANDOM.
+     * @param array
+     * @param random
+     * @return the same array, shuffled
+     */
+    public static long[] shuffle(long[] array, SplittableRandom random)
+    {
+        shuffle(array, 0, array.length, random);
+        return array;
+    }
+
+    /**
+     * Shuffles ARRAY in place with the calling thread's generator.
+     * @param array
+     * @return the same array, shuffled
+     */
+    public static double[] shuffle(double[] array)
+    {
+        return shuffle(array, current());
+    }
+
+    /**
+     * Shuffles ARRAY in place with RANDOM.
+     * @param array
+     * @param random
+     * @return the same array, shuffled
+     */
+    public static double[] shuffle(double[] array, SplittableRandom random)
+    {
+        shuffle(array, 0, array.length, random);
+        return array;
+    }
+
+    /**
+     * Shuffles LIST in place with the calling thread's generator.
+     * @param list
+     * @param <T>
+     * @return the same list, shuffled
+     */
+    public static <T> List<T> shuffle(List<T> list)
+    {
+        return shuffle(list, current());
+    }
+
+    /**
+     * Shuffles LIST in place with RANDOM. RandomAccess lists are shuffled through get and set, any other list is
+     * copied out, shuffled and written back.
+     * @param list
+     * @param random
+     * @param <T>
+     * @return the same list, shuffled
+     */
+    public static <T> List<T> shuffle(List<T> list, SplittableRandom random)
+    {
+        if (list instanceof RandomAccess)
+        {
+            for (int i = list.size() - 1; i > 0; i --)
+                list.set(i, list.set(random.nextInt(i + 1), list.get(i)));
+            return list;
+        }
+
+        Object[] array = shuffle(list.toArray(), random);
+        ListIterator<T> iterator = list.listIterator();
+        for (Object element : array)
+        {
+            iterator.next();
+            @SuppressWarnings("unchecked")
+            T value = (T) element;
+            iterator.set(value);
+        }
+        return list;
+    }
+
+    /**
+     * Shuffles ARRAY in place on the common pool with the calling thread's generator.
+     * @param array
+     * @param <T>
+     * @return the same array, shuffled
+     */
+    public static <T> T[] parallelShuffle(T[] array)
+    {
+        return parallelShuffle(array, current(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Shuffles ARRAY in place on POOL, splitting the generators of the parallel tasks off RANDOM. Arrays shorter than
+     * PARALLEL_THRESHOLD, and any array when POOL has a single thread, are shuffled sequentially instead.
+     * @param array
+     * @param random
+     * @param pool
+     * @param <T>
+     * @return the same array, shuffled
+     */
+    public static <T> T[] parallelShuffle(T[] array, SplittableRandom random, ForkJoinPool pool)
+    {
+        if (array.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1)
+            return shuffle(array, random);
+
+        Plan plan = new Plan(array.length, pool.getParallelism(), random);
+        @SuppressWarnings("unchecked")
+        T[] buffer = (T[]) new Object[array.length];
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            plan.classify();
+            plan.scatter((from, to, next) -> {
+                for (int i = from; i < to; i ++)
+                    buffer[next[plan.oracle[i] & 0xFF] ++] = array[i];
+            });
+            plan.finish((start, end, bucketRandom) -> {
+                shuffle(buffer, start, end, bucketRandom);
+                System.arraycopy(buffer, start, array, start, end - start);
+            });
+        }));
+        return array;
+    }
+
+    /**
+     * Shuffles ARRAY in place on the common pool with the calling thread's generator.
+     * @param array
+     * @return the same array, shuffled
+     */
+    public static int[] parallelShuffle(int[] array)
+    {
+        return parallelShuffle(array, current(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Shuffles ARRAY in place on POOL, splitting the generators of the parallel tasks off RANDOM. Arrays shorter than
+     * PARALLEL_THRESHOLD, and any array when POOL has a single thread, are shuffled sequentially instead.
+     * @param array
+     * @param random
+     * @param pool
+     * @return the same array, shuffled
+     */
+    public static int[] parallelShuffle(int[] array, SplittableRandom random, ForkJoinPool pool)
+    {
+        if (array.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1)
+            return shuffle(array, random);
+
+        Plan plan = new Plan(array.length, pool.getParallelism(), random);
+        int[] buffer = new int[array.length];
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            plan.classify();
+            plan.scatter((from, to, next) -> {
+                for (int i = from; i < to; i ++)
+                    buffer[next[plan.oracle[i] & 0xFF] ++] = array[i];
+            });
+            plan.finish((start, end, bucketRandom) -> {
+                shuffle(buffer, start, end, bucketRandom);
+                System.arraycopy(buffer, start, array, start, end - start);
+            });
+        }));
+        return array;
+    }
+
+    /**
+     * Shuffles ARRAY in place on the common pool with the calling thread's generator.
+     * @param array
+     * @return the same array, shuffled
+     */
+    public static long[] parallelShuffle(long[] array)
+    {
+        return parallelShuffle(array, current(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Shuffles ARRAY in place on POOL, splitting the generators of the parallel tasks off RANDOM. Arrays shorter than
+     * PARALLEL_THRESHOLD, and any array when POOL has a single thread, are shuffled sequentially instead.
+     * @param array
+     * @param random
+     * @param pool
+     * @return the same array, shuffled
+     */
+    public static long[] parallelShuffle(long[] array, SplittableRandom random, ForkJoinPool pool)
+    {
+        if (array.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1)
+            return shuffle(array, random);
+
+        Plan plan = new Plan(array.length, pool.getParallelism(), random);
+        long[] buffer = new long[array.length];
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            plan.classify();
+            plan.scatter((from, to, next) -> {
+                for (int i = from; i < to; i ++)
+                    buffer[next[plan.oracle[i] & 0xFF] ++] = array[i];
+            });
+            plan.finish((start, end, bucketRandom) -> {
+                shuffle(buffer, start, end, bucketRandom);
+                System.arraycopy(buffer, start, array, start, end - start);
+            });
+        }));
+        return array;
+    }
+
+    /**
+     * Draws K elements uniformly at random from what is left of SOURCE, with the calling thread's generator.
+     * @param source
+     * @param k
+     * @param <T>
+     * @return the sample, in no particular order
+     */
+    public static <T> List<T> sample(Iterator<? extends T> source, int k)
+    {
+        return sample(source, k, current());
+    }
+
+    /**
+     * Draws K elements uniformly at random from what is left of SOURCE with algorithm L. If SOURCE has K elements or
+     * fewer, all of them are returned. SOURCE is read to the end unless K is zero.
+     * @param source
+     * @param k
+     * @param random
+     * @param <T>
+     * @return the sample, in no particular order
+     */
+    public static <T> List<T> sample(Iterator<? extends T> source, int k, SplittableRandom random)
+    {
+        if (k < 0)
+            throw new IllegalArgumentException("Negative sample size: " + k);
+        List<T> reservoir = new ArrayList<>(k);
+        while (reservoir.size() < k && source.hasNext())
+            reservoir.add(source.next());
+        if (reservoir.size() < k || k == 0)
+            return reservoir;
+
+        double w = Math.exp(Math.log(1 - random.nextDouble()) / k);
+        while (true)
+        {
+            double skip = Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - w));
+            for (long s = 0; s < skip; s ++)
+            {
+                if (!source.hasNext())
+                    return reservoir;
+                source.next();
+            }
+            if (!source.hasNext())
+                return reservoir;
+            reservoir.set(random.nextInt(k), source.next());
+            w *= Math.exp(Math.log(1 - random.nextDouble()) / k);
+        }
+    }
+
+    /**
+     * Draws K distinct elements of LIST uniformly at random with the calling thread's generator.
+     * @param list
+     * @param k
+     * @param <T>
+     * @return the sample, in the order the elements appear in LIST
+     */
+    public static <T> List<T> sample(List<? extends T> list, int k)
+    {
+        return sample(list, k, current());
+    }
+
+    /**
+     * Draws K distinct elements of LIST uniformly at random. Each element is picked at most once, so K must not be
+     * larger than the list.
+     * @param list
+     * @param k
+     * @param random
+     * @param <T>
+     * @return the sample, in the order the elements appear in LIST
+     */
+    public static <T> List<T> sample(List<? extends T> list, int k, SplittableRandom random)
+    {
+        int[] indices = subset(list.size(), k, random);
+        List<T> sample = new ArrayList<>(k);
+        if (list instanceof RandomAccess)
+        {
+            for (int index : indices)
+                sample.add(list.get(index));
+            return sample;
+        }
+
+        Iterator<? extends T> iterator = list.iterator();
+        int position = 0;
+        for (int index : indices)
+        {
+            T element = iterator.next();
+            for (; position < index; position ++)
+                element = iterator.next();
+            position ++;
+            sample.add(element);
+        }
+        return sample;
+    }
+
+    /**
+     * Draws a uniformly random K element subset of [0, N) with the calling thread's generator.
+     * @param n
+     * @param k
+     * @return the subset in increasing order
+     */
+    public static int[] subset(int n, int k)
+    {
+        return subset(n, k, current());
+    }
+
+    /**
+     * Draws a uniformly random K element subset of [0, N) with Floyd's algorithm. For every j from n - k up to n - 1
+     * a number t in [0, j] is drawn; t is added if it is new and j is added otherwise, which can't have been picked
+     * before since every earlier draw was below j.
+     * @param n
+     * @param k
+     * @param random
+     * @return the subset in increasing order
+     */
+    public static int[] subset(int n, int k, SplittableRandom random)
+    {
+        if (k < 0 || k > n)
+            throw new IllegalArgumentException("Can't pick " + k + " of " + n);
+
+        int[] table = new int[Math.max(2, Integer.highestOneBit(Math.max(1, k)) << 2)];
+        Arrays.fill(table, -1);
+        int[] chosen = new int[k];
+        int size = 0;
+        for (int j = n - k; j < n; j ++)
+        {
+            int t = random.nextInt(j + 1);
+            if (!add(table, t))
+                add(table, t = j);
+            chosen[size ++] = t;
+        }
+        Arrays.sort(chosen);
+        return chosen;
+    }
+
+    /** Adds VALUE to the open addressing hash TABLE, whose empty slots hold -1. Returns false if it was there. */
+    private static boolean add(int[] table, int value)
+    {
+        int mask = table.length - 1;
+        for (int slot = (value * 0x9E3779B9) >>> 7 & mask; ; slot = (slot + 1) & mask)
+        {
+            if (table[slot] == value)
+                return false;
+            if (table[slot] == -1)
+            {
+                table[slot] = value;
+                return true;
+            }
+        }
+    }
+
+    /** Fisher-Yates shuffles [low, high) of ARRAY with RANDOM. */
+    static void shuffle(Object[] array, int low, int high, SplittableRandom random)
+    {
+        for (int i = high - 1; i > low; i --)
+            Quicksort.swap(array, i, low + random.nextInt(i - low + 1));
+    }
+
+    /** Fisher-Yates shuffles [low, high) of ARRAY with RANDOM. */
+    static void shuffle(int[] array, int low, int high, SplittableRandom random)
+    {
+        for (int i = high - 1; i > low; i --)
+            Quicksort.swap(array, i, low + random.nextInt(i - low + 1));
+    }
+
+    /** Fisher-Yates shuffles [low, high) of ARRAY with RANDOM. */
+    static void shuffle(long[] array, int low, int high, SplittableRandom random)
+    {
+        for (int i = high - 1; i > low; i --)
+            Quicksort.swap(array, i, low + random.nextInt(i - low + 1));
+    }
+
+    /** Fisher-Yates shuffles [low, high) of ARRAY with RANDOM. */
+    static void shuffle(double[] array, int low, int high, SplittableRandom random)
+    {
+        for (int i = high - 1; i > low; i --)
+            Quicksort.swap(array, i, low + random.nextInt(i - low + 1));
+    }
+
+    /** Scatters the elements of a block, given the next free slot of every bucket. */
+    private interface Scatter
+    {
+        void scatter(int from, int to, int[] next);
+    }
+
+    /** Shuffles a bucket and copies it back. */
+    private interface Finish
+    {
+        void finish(int start, int end, SplittableRandom random);
+    }
+
+    /**
+     * The bucket assignment of a parallel shuffle. Generators for every block and every bucket are split off up front,
+     * in a fixed order, so the outcome doesn't depend on scheduling. The phases must be run inside the pool, in order.
+     */
+    private static final class Plan
+    {
+        private final int n;
+        private final int blocks;
+        private final int buckets;
+        private final byte[] oracle;
+        private final int[][] next;
+        private final int[] bucketStart;
+        private final SplittableRandom[] blockRandom;
+        private final SplittableRandom[] bucketRandom;
+
+        Plan(int n, int parallelism, SplittableRandom random)
+        {
+            this.n = n;
+            this.blocks = Math.max(1, Math.min(4 * parallelism, n / MIN_BLOCK));
+            this.buckets = Math.min(MAX_BUCKETS, Integer.highestOneBit(4 * parallelism - 1) << 1);
+            this.oracle = new byte[n];
+            this.next = new int[blocks][buckets];
+            this.bucketStart = new int[buckets + 1];
+            this.blockRandom = new SplittableRandom[blocks];
+            this.bucketRandom = new SplittableRandom[buckets];
+            for (int block = 0; block < blocks; block ++)
+                blockRandom[block] = random.split();
+            for (int bucket = 0; bucket < buckets; bucket ++)
+                bucketRandom[bucket] = random.split();
+        }
+
+        /** Draws the bucket of every element, counts the buckets of every block and works out where everything goes. */
+        void classify()
+        {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+            for (int block = 0; block < blocks; block ++)
+            {
+                int from = blockStart(block);
+                int to = blockStart(block + 1);
+                int[] count = next[block];
+                SplittableRandom random = blockRandom[block];
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    for (int i = from; i < to; i ++)
+                    {
+                        int bucket = random.nextInt(buckets);
+                        oracle[i] = (byte) bucket;
+                        count[bucket] ++;
+                    }
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            int sum = 0;
+            for (int bucket = 0; bucket < buckets; bucket ++)
+            {
+                bucketStart[bucket] = sum;
+                for (int block = 0; block < blocks; block ++)
+                {
+                    int count = next[block][bucket];
+                    next[block][bucket] = sum;
+                    sum += count;
+                }
+            }
+            bucketStart[buckets] = sum;
+        }
+
+        /** Runs SCATTER on every block in parallel. */
+        void scatter(Scatter scatter)
+        {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+            for (int block = 0; block < blocks; block ++)
+            {
+                int from = blockStart(block);
+                int to = blockStart(block + 1);
+                int[] offsets = next[block];
+                tasks.add(ForkJoinTask.adapt(() -> scatter.scatter(from, to, offsets)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        /** Runs FINISH on every bucket in parallel. */
+        void finish(Finish finish)
+        {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(buckets);
+            for (int bucket = 0; bucket < buckets; bucket ++)
+            {
+                int start = bucketStart[bucket];
+                int end = bucketStart[bucket + 1];
+                SplittableRandom random = bucketRandom[bucket];
+                tasks.add(ForkJoinTask.adapt(() -> finish.finish(start, end, random)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        /** Returns where block BLOCK starts. */
+        private int blockStart(int block)
+        {
+            return (int) ((long) n * block / blocks);
+        }
+    }
+}
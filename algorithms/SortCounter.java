@@ -0,0 +1,130 @@
+package main.com.acscooter.algorithms;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * A SortMetrics that simply counts. Every call to started resets the counters, so after a sort returns they describe
+ * that sort alone. When a front end like AdaptiveSort delegates to an engine, the counts are the engine's and the
+ * strategy and wall time are the front end's. It keeps no locks, so give each thread its own.
+ *
+ * A count the sorter never reports stays at 0, so a 0 only means none if the sorter reports that count at all. The
+ * primitive overloads report no comparisons, and only some sorters report moves; TimSort, ParallelMergeSort and
+ * SampleSort, for one, don't.
+ */
+public class SortCounter implements SortMetrics
+{
+    private String algorithm;
+    private int size;
+    private long comparisons;
+    private long moves;
+    private int maxDepth;
+    private long auxiliary;
+    private long nanos;
+    private String strategy;
+
+    @Override
+    public void started(String algorithm, int size)
+    {
+        this.algorithm = algorithm;
+        this.size = size;
+        comparisons = 0;
+        moves = 0;
+        maxDepth = 0;
+        auxiliary = 0;
+        nanos = 0;
+        strategy = null;
+    }
+
+    @Override
+    public void compared(long count)
+    {
+        comparisons += count;
+    }
+
+    @Override
+    public void moved(long count)
+    {
+        moves += count;
+    }
+
+    @Override
+    public void descended(int depth)
+    {
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    @Override
+    public void allocated(long elements)
+    {
+        auxiliary += elements;
+    }
+
+    @Override
+    public void chose(String strategy)
+    {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void finished(long nanos)
+    {
+        this.nanos = nanos;
+    }
+
+    /** Returns the name of the algorithm that ran last. */
+    public String getAlgorithm()
+    {
+        return algorithm;
+    }
+
+    /** Returns the number of elements sorted. */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /** Returns the number of comparisons made. */
+    public long getComparisons()
+    {
+        return comparisons;
+    }
+
+    /** Returns the number of element moves made. */
+    public long getMoves()
+    {
+        return moves;
+    }
+
+    /** Returns the deepest level the recursion reached. */
+    public int getMaxDepth()
+    {
+        return maxDepth;
+    }
+
+    /** Returns the number of elements' worth of scratch space allocated. */
+    public long getAuxiliary()
+    {
+        return auxiliary;
+    }
+
+    /** Returns the strategy a front end chose, or null if the sort wasn't run through one. */
+    public String getStrategy()
+    {
+        return strategy;
+    }
+
+    /** Returns the wall time of the sort in nanoseconds. */
+    public long getNanos()
+    {
+        return nanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s%s: %d elements, %d comparisons, %d moves, depth %d, %d auxiliary, %d ns",
+                             algorithm, strategy == null ? "" : " (" + strategy + ")", size, comparisons, moves,
+                             maxDepth, auxiliary, nanos);
+    }
+}
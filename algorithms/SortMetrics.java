@@ -0,0 +1,79 @@
+package main.com.acscooter.algorithms;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * A listener for what a sort actually does. Attach one to a sorter with AbstractSort.setMetrics and it hears about
+ * every sort call: when it starts, how many comparisons and element moves it makes, how deep its recursion goes, how
+ * many elements' worth of scratch space it allocates and how long it takes. Every method has an empty default, so
+ * implementations only need to override what they care about.
+ *
+ * Sorters start out with NONE attached and only ever check for it by identity. Comparisons are counted by wrapping
+ * the comparator, and only when a real listener is attached, so an uninstrumented sort runs the exact same code it
+ * did before instrumentation existed. Moves are tallied in local counters and reported once per partition or merge.
+ * The primitive overloads only report size and wall time, since their comparisons are plain operators.
+ */
+public interface SortMetrics
+{
+    /** The listener every sorter starts with. It ignores everything. */
+    SortMetrics NONE = new SortMetrics() { };
+
+    /**
+     * Called when ALGORITHM starts sorting SIZE elements.
+     * @param algorithm
+     * @param size
+     */
+    default void started(String algorithm, int size)
+    {
+    }
+
+    /**
+     * Called after COUNT more comparisons.
+     * @param count
+     */
+    default void compared(long count)
+    {
+    }
+
+    /**
+     * Called after COUNT more elements were written to a new position.
+     * @param count
+     */
+    default void moved(long count)
+    {
+    }
+
+    /**
+     * Called whenever the recursion enters DEPTH, the root call being depth 1.
+     * @param depth
+     */
+    default void descended(int depth)
+    {
+    }
+
+    /**
+     * Called when the sort allocates scratch space for ELEMENTS elements.
+     * @param elements
+     */
+    default void allocated(long elements)
+    {
+    }
+
+    /**
+     * Called by front ends such as AdaptiveSort with the STRATEGY they picked for the current sort. This arrives after
+     * the chosen engine has reported its own start and finish, and before the front end's finish.
+     * @param strategy
+     */
+    default void chose(String strategy)
+    {
+    }
+
+    /**
+     * Called when the sort finishes, NANOS nanoseconds after it started.
+     * @param nanos
+     */
+    default void finished(long nanos)
+    {
+    }
+}
@@ -0,0 +1,126 @@
+package main.com.acscooter.algorithms;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * A sorting network is a fixed sequence of compare-exchange operations, each of which takes two positions and puts the
+ * smaller of their values in the first and the larger in the second. Which positions get compared never depends on
+ * the data, and each compare-exchange is just a min and a max, which the JIT compiles to conditional moves. So
+ * a network sorts without a single data dependent branch. That is what makes it attractive for the tiny ranges at the
+ * bottom of a recursive sort: insertion sort does fewer comparisons on paper, but on random data about half of its
+ * branches are mispredicted, and a misprediction costs as much as a dozen compare-exchanges.
+ *
+ * The networks here are Batcher's odd-even merge sort (1968). For a power of two n it sorts both halves recursively
+ * and then merges them by recursively merging the odd and the even positions and fixing up neighbours, for about
+ * n lg^2 n / 4 compare-exchanges in total: 19 for 8 elements, 63 for 16 and 543 for 64. Sizes in between use the
+ * network of the next power of two with every compare-exchange that touches a position past the end dropped. That
+ * is exact: a missing position behaves like +infinity, the max of anything with +infinity is +infinity, so those
+ * positions never receive a real value and dropping the compare-exchanges that involve them changes nothing.
+ *
+ * The networks are built once as tables of index pairs and walked by a tight loop, one table per size up to
+ * MAX_SIZE. Quicksort, MergeSort and RadixSort use them to finish off small primitive ranges. The float and double
+ * kernels expect the caller to have moved the NaNs out of the way, like the sorts in this package do, and may leave
+ * -0.0 and 0.0 in either order.
+ */
+final class SortingNetworks
+{
+    /** The largest range the networks sort. */
+    static final int MAX_SIZE = 64;
+
+    /** The compare-exchanges for every size, as flattened pairs of offsets. */
+    private static final int[][] NETWORKS = new int[MAX_SIZE + 1][];
+
+    static
+    {
+        for (int n = 0; n <= MAX_SIZE; n ++)
+            NETWORKS[n] = oddEvenMergeSort(n);
+    }
+
+    private SortingNetworks()
+    {
+    }
+
+    /**
+     * Builds Batcher's odd-even merge sort for N elements as a flattened list of (i, j) pairs with i < j, in the
+     * order they have to be applied.
+     */
+    private static int[] oddEvenMergeSort(int n)
+    {
+        int size = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+        int[] pairs = new int[size * size];
+        int count = 0;
+        for (int p = 1; p < size; p <<= 1)
+            for (int k = p; k >= 1; k >>= 1)
+                for (int j = k % p; j + k < size; j += 2 * k)
+                    for (int i = 0; i < k && i + j + k < size; i ++)
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p) && i + j + k < n)
+                        {
+                            pairs[count ++] = i + j;
+                            pairs[count ++] = i + j + k;
+                        }
+        int[] network = new int[count];
+        System.arraycopy(pairs, 0, network, 0, count);
+        return network;
+    }
+
+    /** Sorts the range [low, high) of ARRAY, which must hold at most MAX_SIZE elements. */
+    static void sort(int[] array, int low, int high)
+    {
+        int[] network = NETWORKS[high - low];
+        for (int k = 0; k < network.length; k += 2)
+        {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            int a = array[i];
+            int b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /** Sorts the range [low, high) of ARRAY, which must hold at most MAX_SIZE elements. */
+    static void sort(long[] array, int low, int high)
+    {
+        int[] network = NETWORKS[high - low];
+        for (int k = 0; k < network.length; k += 2)
+        {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            long a = array[i];
+            long b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /** Sorts the NaN free range [low, high) of ARRAY, which must hold at most MAX_SIZE elements. */
+    static void sort(float[] array, int low, int high)
+    {
+        int[] network = NETWORKS[high - low];
+        for (int k = 0; k < network.length; k += 2)
+        {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            float a = array[i];
+            float b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /** Sorts the NaN free range [low, high) of ARRAY, which must hold at most MAX_SIZE elements. */
+    static void sort(double[] array, int low, int high)
+    {
+        int[] network = NETWORKS[high - low];
+        for (int k = 0; k < network.length; k += 2)
+        {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            double a = array[i];
+            double b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+}
@@ -0,0 +1,654 @@
+package main.com.acscooter.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * TimSort is the adaptive merge sort Tim Peters wrote for Python's list.sort back in 2002. Plain merge sort happily
+ * splits an already sorted array all the way down to single elements and then spends O(n log n) comparisons gluing
+ * them back together. Real data is rarely that random though: logs are appended mostly in order, tables are sorted
+ * by one column and then re-sorted by another, and so on. TimSort takes advantage of this by looking for the order
+ * that is already there.
+ *
+ * The algorithm walks the array once from left to right and cuts it into natural runs. A run is either non-descending
+ * or strictly descending (strict, so that reversing it in place can't reorder equal elements). Runs shorter than
+ * minRun, which is chosen so that n / minRun is a power of two or just under one, are extended to minRun elements with
+ * binary insertion sort. Each run is then pushed on a stack and the top few runs are merged whenever the stack stops
+ * satisfying two invariants on run lengths, the gist of which is that run lengths should shrink at least as fast as
+ * the Fibonacci numbers going up the stack. That keeps merges balanced and the stack shallow.
+ *
+ * Merging itself is a little smarter than usual. The shorter run is copied out to a scratch buffer and merged back
+ * in from whichever end leaves room. If one run keeps winning MIN_GALLOP comparisons in a row, the merge switches to
+ * galloping mode: it exponentially searches the other run for where the current element lands and copies the whole
+ * block in one go. When galloping stops paying for itself the merge drops back to one-at-a-time mode, and the
+ * threshold adapts to how well galloping has been doing.
+ *
+ * The upshot is a stable sort that is O(n log n) in the worst case and O(n) on input that is already sorted,
+ * reverse sorted, or made of a handful of sorted chunks.
+ */
+public class TimSort extends AbstractSort
+{
+    /** Arrays shorter than this are binary insertion sorted without any merging. */
+    private static final int MIN_MERGE = 32;
+    /** The initial number of consecutive wins before a merge starts galloping. */
+    private static final int MIN_GALLOP = 7;
+    /**
+     * The maximum number of pending runs. Because run lengths grow at least as fast as the Fibonacci numbers going
+     * down the stack, 49 runs are enough for any array that fits in an int index.
+     */
+    private static final int MAX_RUNS = 49;
+
+    /**
+     * Sorts ARRAY in place.
+     * @param array
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> T[] sort(T[] array)
+    {
+        return sort(array, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts ARRAY in place, ordering elements with COMPARATOR.
+     * @param array
+     * @param comparator
+     * @param <T>
+     * @return the same array, sorted
+     */
+    @Override
+    public <T> T[] sort(T[] array, Comparator<? super T> comparator)
+    {
+        sort(array, 0, array.length, comparator);
+        return array;
+    }
+
+    /**
+     * Copies the list into an array, sorts it and writes the result back into the list.
+     * @param list
+     * @param <T>
+     * @return the same list, sorted
+     */
+    @Override
+    public <T extends Comparable<T>> List<T> sort(List<T> list)
+    {
+        return sort(list, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY in place.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     */
+    @Override
+    protected <T> void sortRange(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        sort(array, low, high, comparator);
+    }
+
+    /**
+     * Sorts the range [low, high) of ARRAY in place, ordering elements with COMPARATOR.
+     * @param array
+     * @param low inclusive
+     * @param high exclusive
+     * @param comparator
+     * @param <T>
+     */
+    public <T> void sort(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        long start = begin(high - low);
+        timSort(array, low, high, counted(comparator));
+        end(start);
+    }
+
+    /** The run finding and merging loop behind sort. */
+    private static <T> void timSort(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        int remaining = high - low;
+        if (remaining < 2)
+            return;
+
+        if (remaining < MIN_MERGE)
+        {
+            int run = countRun(array, low, high, comparator);
+            binaryInsertionSort(array, low, high, low + run, comparator);
+            return;
+        }
+
+        Merger<T> merger = new Merger<>(array, comparator);
+        int minRun = minRunLength(remaining);
+        do
+        {
+            int run = countRun(array, low, high, comparator);
+            if (run < minRun)
+            {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(array, low, low + forced, low + run, comparator);
+                run = forced;
+            }
+
+            merger.push(low, run);
+            merger.collapse();
+
+            low += run;
+            remaining -= run;
+        } while (remaining != 0);
+
+        merger.forceCollapse();
+    }
+
+    /**
+     * Returns the length of the run starting at LOW. A strictly descending run is reversed in place so that every
+     * run handed back is non-descending.
+     */
+    private static <T> int countRun(T[] array, int low, int high, Comparator<? super T> comparator)
+    {
+        int runHigh = low + 1;
+        if (runHigh == high)
+            return 1;
+
+        if (comparator.compare(array[runHigh ++], array[low]) < 0)
+        {
+            while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) < 0)
+                runHigh ++;
+            reverse(array, low, runHigh);
+        }
+        else
+        {
+            while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) >= 0)
+                runHigh ++;
+        }
+        return runHigh - low;
+    }
+
+    /** Reverses the range [low, high) of ARRAY. */
+    private static void reverse(Object[] array, int low, int high)
+    {
+        for (high --; low < high; low ++, high --)
+            Quicksort.swap(array, low, high);
+    }
+
+    /**
+     * Sorts [low, high) given that [low, start) is already sorted. Each new element is placed with a binary search,
+     * which cuts comparisons down to O(n log n) even though the moves are still O(n^2). Equal elements are inserted
+     * after their equals to keep the sort stable.
+     */
+    private static <T> void binaryInsertionSort(T[] array, int low, int high, int start,
+                                                Comparator<? super T> comparator)
+    {
+        for (; start < high; start ++)
+        {
+            T key = array[start];
+            int left = low;
+            int right = start;
+            while (left < right)
+            {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare(key, array[middle]) < 0)
+                    right = middle;
+                else
+                    left = middle + 1;
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = key;
+        }
+    }
+
+    /**
+     * Returns the minimum run length for an array of length N. For N below MIN_MERGE that is N itself. Otherwise it
+     * is the top six bits of N, plus one if any of the remaining bits are set, which lands in [MIN_MERGE / 2,
+     * MIN_MERGE] and makes N / minRun a power of two or slightly less than one.
+     */
+    private static int minRunLength(int n)
+    {
+        int carry = 0;
+        while (n >= MIN_MERGE)
+        {
+            carry |= n & 1;
+            n >>= 1;
+        }
+        return n + carry;
+    }
+
+    /**
+     * Returns the leftmost index k in [0, length) such that ARRAY[base + k - 1] < KEY <= ARRAY[base + k], galloping
+     * out from HINT. The search takes O(log d) comparisons where d is the distance from HINT to the answer.
+     */
+    private static <T> int gallopLeft(T key, T[] array, int base, int length, int hint,
+                                      Comparator<? super T> comparator)
+    {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, array[base + hint]) > 0)
+        {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint + offset]) > 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0)
+                    offset = maxOffset;
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+        else
+        {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint - offset]) <= 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0)
+                    offset = maxOffset;
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+
+        lastOffset ++;
+        while (lastOffset < offset)
+        {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, array[base + middle]) > 0)
+                lastOffset = middle + 1;
+            else
+                offset = middle;
+        }
+        return offset;
+    }
+
+    /**
+     * Like gallopLeft, but returns the rightmost index k such that ARRAY[base + k - 1] <= KEY < ARRAY[base + k], so
+     * that KEY lands after any elements equal to it.
+     */
+    private static <T> int gallopRight(T key, T[] array, int base, int length, int hint,
+                                       Comparator<? super T> comparator)
+    {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, array[base + hint]) < 0)
+        {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint - offset]) < 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0)
+                    offset = maxOffset;
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        else
+        {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint + offset]) >= 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0)
+                    offset = maxOffset;
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        lastOffset ++;
+        while (lastOffset < offset)
+        {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, array[base + middle]) < 0)
+                offset = middle;
+            else
+                lastOffset = middle + 1;
+        }
+        return offset;
+    }
+
+    /**
+     * The state of a single sort: the stack of pending runs, the scratch buffer that merges copy the shorter run into
+     * and the current galloping threshold. Keeping it per call means one TimSort instance can be shared freely.
+     */
+    private static final class Merger<T>
+    {
+        private final T[] array;
+        private final Comparator<? super T> comparator;
+        private final int[] runBase = new int[MAX_RUNS];
+        private final int[] runLength = new int[MAX_RUNS];
+        private int runs = 0;
+        private int minGallop = MIN_GALLOP;
+        private T[] buffer;
+
+        Merger(T[] array, Comparator<? super T> comparator)
+        {
+            this.array = array;
+            this.comparator = comparator;
+            this.buffer = Arrays.copyOf(array, Math.min(256, array.length >>> 1));
+        }
+
+        /** Pushes the run of LENGTH elements starting at BASE onto the stack. */
+        void push(int base, int length)
+        {
+            runBase[runs] = base;
+            runLength[runs] = length;
+            runs ++;
+        }
+
+        /**
+         * Merges runs until the stack satisfies the invariants, where A, B and C are the lengths of the three topmost
+         * runs with C on top: A > B + C and B > C. The rule is also checked one run further down, which is what keeps
+         * the invariant from silently breaking deeper in the stack.
+         */
+        void collapse()
+        {
+            while (runs > 1)
+            {
+                int n = runs - 2;
+                if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                    || (n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n]))
+                {
+                    if (runLength[n - 1] < runLength[n + 1])
+                        n --;
+                }
+                else if (runLength[n] > runLength[n + 1])
+                {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /** Merges every remaining run, which leaves one sorted run on the stack. */
+        void forceCollapse()
+        {
+            while (runs > 1)
+            {
+                int n = runs - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1])
+                    n --;
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at stack positions I and I + 1. Elements of the first run that are already smaller than
+         * the start of the second run, and elements of the second run that are already larger than the end of the
+         * first, are in place and get trimmed off before merging.
+         */
+        private void mergeAt(int i)
+        {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+
+            runLength[i] = length1 + length2;
+            if (i == runs - 3)
+            {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            runs --;
+
+            int skip = gallopRight(array[base2], array, base1, length1, 0, comparator);
+            base1 += skip;
+            length1 -= skip;
+            if (length1 == 0)
+                return;
+
+            length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1, comparator);
+            if (length2 == 0)
+                return;
+
+            if (length1 <= length2)
+                mergeLow(base1, length1, base2, length2);
+            else
+                mergeHigh(base1, length1, base2, length2);
+        }
+
+        /**
+         * Merges two adjacent runs front to back. The first run is the shorter one and is copied into the buffer.
+         * The first element of the second run is known to be smaller than the first element of the first run, and
+         * the last element of the first run is known to be larger than the last element of the second run.
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2)
+        {
+            T[] buffer = ensureCapacity(length1);
+            System.arraycopy(array, base1, buffer, 0, length1);
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int target = base1;
+
+            array[target ++] = array[cursor2 ++];
+            if (-- length2 == 0)
+            {
+                System.arraycopy(buffer, cursor1, array, target, length1);
+                return;
+            }
+            if (length1 == 1)
+            {
+                System.arraycopy(array, cursor2, array, target, length2);
+                array[target + length2] = buffer[cursor1];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true)
+            {
+                int wins1 = 0;
+                int wins2 = 0;
+
+                do
+                {
+                    if (comparator.compare(array[cursor2], buffer[cursor1]) < 0)
+                    {
+                        array[target ++] = array[cursor2 ++];
+                        wins2 ++;
+                        wins1 = 0;
+                        if (-- length2 == 0)
+                            break outer;
+                    }
+                    else
+                    {
+                        array[target ++] = buffer[cursor1 ++];
+                        wins1 ++;
+                        wins2 = 0;
+                        if (-- length1 == 1)
+                            break outer;
+                    }
+                } while ((wins1 | wins2) < minGallop);
+
+                do
+                {
+                    wins1 = gallopRight(array[cursor2], buffer, cursor1, length1, 0, comparator);
+                    if (wins1 != 0)
+                    {
+                        System.arraycopy(buffer, cursor1, array, target, wins1);
+                        target += wins1;
+                        cursor1 += wins1;
+                        length1 -= wins1;
+                        if (length1 <= 1)
+                            break outer;
+                    }
+                    array[target ++] = array[cursor2 ++];
+                    if (-- length2 == 0)
+                        break outer;
+
+                    wins2 = gallopLeft(buffer[cursor1], array, cursor2, length2, 0, comparator);
+                    if (wins2 != 0)
+                    {
+                        System.arraycopy(array, cursor2, array, target, wins2);
+                        target += wins2;
+                        cursor2 += wins2;
+                        length2 -= wins2;
+                        if (length2 == 0)
+                            break outer;
+                    }
+                    array[target ++] = buffer[cursor1 ++];
+                    if (-- length1 == 1)
+                        break outer;
+
+                    minGallop --;
+                } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+
+                if (minGallop < 0)
+                    minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (length1 == 1)
+            {
+                System.arraycopy(array, cursor2, array, target, length2);
+                array[target + length2] = buffer[cursor1];
+            }
+            else if (length1 == 0)
+            {
+                throw new IllegalArgumentException("Comparison method violates its general contract!");
+            }
+            else
+            {
+                System.arraycopy(buffer, cursor1, array, target, length1);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs back to front. The second run is the shorter one and is copied into the buffer.
+         * Otherwise this is mergeLow in a mirror.
+         */
+        private void mergeHigh(int base1, int length1, int base2, int length2)
+        {
+            T[] buffer = ensureCapacity(length2);
+            System.arraycopy(array, base2, buffer, 0, length2);
+            int cursor1 = base1 + length1 - 1;
+            int cursor2 = length2 - 1;
+            int target = base2 + length2 - 1;
+
+            array[target --] = array[cursor1 --];
+            if (-- length1 == 0)
+            {
+                System.arraycopy(buffer, 0, array, target - (length2 - 1), length2);
+                return;
+            }
+            if (length2 == 1)
+            {
+                target -= length1;
+                cursor1 -= length1;
+                System.arraycopy(array, cursor1 + 1, array, target + 1, length1);
+                array[target] = buffer[cursor2];
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true)
+            {
+                int wins1 = 0;
+                int wins2 = 0;
+
+                do
+                {
+                    if (comparator.compare(buffer[cursor2], array[cursor1]) < 0)
+                    {
+                        array[target --] = array[cursor1 --];
+                        wins1 ++;
+                        wins2 = 0;
+                        if (-- length1 == 0)
+                            break outer;
+                    }
+                    else
+                    {
+                        array[target --] = buffer[cursor2 --];
+                        wins2 ++;
+                        wins1 = 0;
+                        if (-- length2 == 1)
+                            break outer;
+                    }
+                } while ((wins1 | wins2) < minGallop);
+
+                do
+                {
+                    wins1 = length1 - gallopRight(buffer[cursor2], array, base1, length1, length1 - 1, comparator);
+                    if (wins1 != 0)
+                    {
+                        target -= wins1;
+                        cursor1 -= wins1;
+                        length1 -= wins1;
+                        System.arraycopy(array, cursor1 + 1, array, target + 1, wins1);
+                        if (length1 == 0)
+                            break outer;
+                    }
+                    array[target --] = buffer[cursor2 --];
+                    if (-- length2 == 1)
+                        break outer;
+
+                    wins2 = length2 - gallopLeft(array[cursor1], buffer, 0, length2, length2 - 1, comparator);
+                    if (wins2 != 0)
+                    {
+                        target -= wins2;
+                        cursor2 -= wins2;
+                        length2 -= wins2;
+                        System.arraycopy(buffer, cursor2 + 1, array, target + 1, wins2);
+                        if (length2 <= 1)
+                            break outer;
+                    }
+                    array[target --] = array[cursor1 --];
+                    if (-- length1 == 0)
+                        break outer;
+
+                    minGallop --;
+                } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+
+                if (minGallop < 0)
+                    minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (length2 == 1)
+            {
+                target -= length1;
+                cursor1 -= length1;
+                System.arraycopy(array, cursor1 + 1, array, target + 1, length1);
+                array[target] = buffer[cursor2];
+            }
+            else if (length2 == 0)
+            {
+                throw new IllegalArgumentException("Comparison method violates its general contract!");
+            }
+            else
+            {
+                System.arraycopy(buffer, 0, array, target - (length2 - 1), length2);
+            }
+        }
+
+        /** Returns a buffer of at least CAPACITY elements, doubling the current one if it is too small. */
+        private T[] ensureCapacity(int capacity)
+        {
+            if (buffer.length < capacity)
+            {
+                int size = Integer.highestOneBit(capacity) << 1;
+                if (size < 0 || size > array.length >>> 1)
+                    size = Math.max(capacity, array.length >>> 1);
+                buffer = Arrays.copyOf(array, size);
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package main.com.acscooter.benchmarks;
+
+import main.com.acscooter.algorithms.AbstractSort;
+import main.com.acscooter.algorithms.BubbleSort;
+import main.com.acscooter.algorithms.InsertionSort;
+import main.com.acscooter.algorithms.SelectionSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * JMH benchmarks for the O(n^2) sorters, kept to sizes where a single sort finishes in reasonable time. They live in
+ * a class of their own rather than next to SortBenchmark's, since a benchmark method of a @State class runs once for
+ * every combination of that class's @Params and its invocation setup runs before every call. Here each run only
+ * crosses this class's own sorters, sizes and distributions, and the only setup is copying its own input. Reports the
+ * same throughput and comparisons per element as SortBenchmark.
+ *
+ *     java -jar benchmarks/target/benchmarks.jar QuadraticSortBenchmark -p sorter=InsertionSort
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class QuadraticSortBenchmark
+{
+    @Param({"InsertionSort", "SelectionSort", "BubbleSort"})
+    public String sorter;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "SAWTOOTH", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public SortInputs distribution;
+
+    private AbstractSort sort;
+    private SortInputs.Key[] keys;
+    private SortInputs.Key[] work;
+
+    @Setup(Level.Trial)
+    public void createInput()
+    {
+        sort = create(sorter);
+        keys = distribution.keys(size);
+        work = new SortInputs.Key[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void resetInput()
+    {
+        System.arraycopy(keys, 0, work, 0, size);
+    }
+
+    /** Sorts the counting keys with one of the O(n^2) sorters. */
+    @Benchmark
+    public Object sortQuadratic(SortBenchmark.Comparisons comparisons)
+    {
+        SortInputs.Key.comparisons.reset();
+        Object sorted = sort.sort(work);
+        comparisons.record(SortInputs.Key.comparisons.sum(), size);
+        return sorted;
+    }
+
+    /** Returns a new instance of the O(n^2) sorter called NAME. */
+    static AbstractSort create(String name)
+    {
+        switch (name)
+        {
+            case "InsertionSort":       return new InsertionSort();
+            case "SelectionSort":       return new SelectionSort();
+            case "BubbleSort":          return new BubbleSort();
+            default: throw new IllegalArgumentException("Unknown sorter " + name);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package main.com.acscooter.benchmarks;
+
+import main.com.acscooter.algorithms.AbstractSort;
+import main.com.acscooter.algorithms.AdaptiveSort;
+import main.com.acscooter.algorithms.HeapSort;
+import main.com.acscooter.algorithms.MediansQuicksort;
+import main.com.acscooter.algorithms.MergeSort;
+import main.com.acscooter.algorithms.ParallelMergeSort;
+import main.com.acscooter.algorithms.Quicksort;
+import main.com.acscooter.algorithms.RadixSort;
+import main.com.acscooter.algorithms.RandomizedQuicksort;
+import main.com.acscooter.algorithms.SampleSort;
+import main.com.acscooter.algorithms.TimSort;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * JMH benchmarks for every AbstractSort implementation except the bogosorts, which would still be running when the
+ * sun burns out. Each sorter runs against every SortInputs distribution at a range of sizes and reports
+ *
+ *     - throughput, in sorts per second,
+ *     - comparisons per element, through the Comparisons aux counter, and
+ *     - allocation rate, when run with the gc profiler (-prof gc).
+ *
+ * The O(n log n) sorters run from a hundred to a million elements. The O(n^2) ones live in QuadraticSortBenchmark,
+ * which tops out at ten thousand so the suite finishes the same day. Both copy a fresh input into a preallocated array
+ * before every invocation, so neither the copy nor its allocation shows up in the measurement.
+ *
+ * benchmarks/pom.xml builds them, together with the algorithms they measure, into a self-contained JMH jar. Build it
+ * and run the whole suite with something like
+ *
+ *     mvn -f benchmarks/pom.xml package
+ *     java -jar benchmarks/target/benchmarks.jar SortBenchmark -prof gc -rf json
+ *
+ * and narrow it down with -p sorter=TimSort -p distribution=SORTED and so on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SortBenchmark
+{
+    @Param({"Quicksort", "RandomizedQuicksort", "MediansQuicksort", "MergeSort", "HeapSort", "ParallelMergeSort",
+            "SampleSort", "TimSort", "RadixSort", "AdaptiveSort"})
+    public String sorter;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "SAWTOOTH", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public SortInputs distribution;
+
+    private AbstractSort sort;
+    private SortInputs.Key[] keys;
+    private SortInputs.Key[] work;
+    private int[] ints;
+    private int[] intWork;
+
+    @Setup(Level.Trial)
+    public void createInput()
+    {
+        sort = create(sorter);
+        keys = distribution.keys(size);
+        work = new SortInputs.Key[size];
+        ints = distribution.ints(size);
+        intWork = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void resetInput()
+    {
+        System.arraycopy(keys, 0, work, 0, size);
+        System.arraycopy(ints, 0, intWork, 0, size);
+    }
+
+    /** Sorts the counting keys through sort(T[]). */
+    @Benchmark
+    public Object sortObjects(Comparisons comparisons)
+    {
+        SortInputs.Key.comparisons.reset();
+        Object sorted = sort.sort(work);
+        comparisons.record(SortInputs.Key.comparisons.sum(), size);
+        return sorted;
+    }
+
+    /** Sorts the same keys as plain ints through sort(int[]). */
+    @Benchmark
+    public int[] sortInts()
+    {
+        return sort.sort(intWork);
+    }
+
+    /**
+     * Accumulates comparisons and elements over an iteration. JMH reports comparisonsPerElement next to the primary
+     * throughput result.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Comparisons
+    {
+        private long comparisons;
+        private long elements;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            comparisons = 0;
+            elements = 0;
+        }
+
+        void record(long comparisons, int elements)
+        {
+            this.comparisons += comparisons;
+            this.elements += elements;
+        }
+
+        public double comparisonsPerElement()
+        {
+            return elements == 0 ? 0 : (double) comparisons / elements;
+        }
+    }
+
+    /** Returns a new instance of the sorter called NAME. */
+    static AbstractSort create(String name)
+    {
+        switch (name)
+        {
+            case "Quicksort":           return new Quicksort();
+            case "RandomizedQuicksort": return new RandomizedQuicksort();
+            case "MediansQuicksort":    return new MediansQuicksort();
+            case "MergeSort":           return new MergeSort();
+            case "HeapSort":            return new HeapSort();
+            case "ParallelMergeSort":   return new ParallelMergeSort();
+            case "SampleSort":          return new SampleSort();
+            case "TimSort":             return new TimSort();
+            case "RadixSort":           return new RadixSort();
+            case "AdaptiveSort":        return new AdaptiveSort();
+            default: throw new IllegalArgumentException("Unknown sorter " + name);
+        }
+    }
+}
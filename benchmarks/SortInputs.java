@@ -0,0 +1,121 @@
+package main.com.acscooter.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * The input shapes the sort benchmarks run against. Every distribution is generated from a fixed seed so that runs
+ * are comparable from one build to the next. Keys are wrapped in Key, which counts how many times compareTo is
+ * called so the benchmarks can report comparisons per element.
+ */
+public enum SortInputs
+{
+    /** Uniformly random keys. */
+    RANDOM
+    {
+        @Override
+        int key(int i, int size, Random random)
+        {
+            return random.nextInt();
+        }
+    },
+    /** Keys already in ascending order. */
+    SORTED
+    {
+        @Override
+        int key(int i, int size, Random random)
+        {
+            return i;
+        }
+    },
+    /** Keys in descending order. */
+    REVERSED
+    {
+        @Override
+        int key(int i, int size, Random random)
+        {
+            return size - i;
+        }
+    },
+    /** Ascending runs of about sqrt(n) keys, each starting over from zero. */
+    SAWTOOTH
+    {
+        @Override
+        int key(int i, int size, Random random)
+        {
+            return i % Math.max(1, (int) Math.sqrt(size));
+        }
+    },
+    /** Random keys drawn from only sixteen distinct values. */
+    FEW_UNIQUE
+    {
+        @Override
+        int key(int i, int size, Random random)
+        {
+            return random.nextInt(16);
+        }
+    },
+    /** Keys that rise to the middle of the array and fall back down again. */
+    ORGAN_PIPE
+    {
+        @Override
+        int key(int i, int size, Random random)
+        {
+            return i < size / 2 ? i : size - i;
+        }
+    };
+
+    /** The seed every distribution is generated from. */
+    private static final long SEED = 133713371337L;
+
+    /** Returns key I of an input of SIZE keys, drawing any randomness from RANDOM. */
+    abstract int key(int i, int size, Random random);
+
+    /** Returns SIZE keys with this distribution. */
+    public int[] ints(int size)
+    {
+        Random random = new Random(SEED);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i ++)
+            keys[i] = key(i, size, random);
+        return keys;
+    }
+
+    /** Returns SIZE counting keys with this distribution. */
+    public Key[] keys(int size)
+    {
+        int[] ints = ints(size);
+        Key[] keys = new Key[size];
+        for (int i = 0; i < size; i ++)
+            keys[i] = new Key(ints[i]);
+        return keys;
+    }
+
+    /**
+     * An int key that counts its comparisons. The count is a LongAdder, since the parallel sorters compare keys on
+     * several threads at once. It is shared by every key, so it is only meaningful when a single benchmark thread
+     * runs at a time, which is the JMH default.
+     */
+    public static final class Key implements Comparable<Key>
+    {
+        /** The number of comparisons made since the last reset. */
+        static final LongAdder comparisons = new LongAdder();
+
+        private final int value;
+
+        Key(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Key other)
+        {
+            comparisons.increment();
+            return Integer.compare(value, other.value);
+        }
+    }
+}
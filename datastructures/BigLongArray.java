@@ -0,0 +1,172 @@
+package main.com.acscooter.datastructures;
+
+import java.util.Arrays;
+
+/** BigLongArray is a fixed size array of longs indexed by long, for data
+ *  sets that don't fit the 2^31 - 1 elements a Java array can hold. It is
+ *  split into segments of 2^segmentShift longs each, so element i lives at
+ *  index i & (segmentSize - 1) of segment i >>> segmentShift. Every segment
+ *  but the last is full, and the last one is only as long as it needs to be.
+ *
+ *  The segments are ordinary long arrays on the heap. Arrays of primitives
+ *  hold no references, so the garbage collector never has to look inside
+ *  them, and a few large segments cost it next to nothing. Code that wants
+ *  to run at full speed can work on the segments directly through segment,
+ *  which hands out the backing arrays themselves.
+ *
+ *  @author Antares Chen
+ *  @since  2026-10-17
+ */
+public final class BigLongArray {
+
+    /** The default lg of the segment size: 2^27 longs, or 1 GiB. */
+    public static final int DEFAULT_SEGMENT_SHIFT = 27;
+
+    /** The number of elements. */
+    private final long size;
+    /** The lg of the number of longs per segment. */
+    private final int segmentShift;
+    /** The segment size minus one, to mask an index with. */
+    private final long segmentMask;
+    /** The segments. */
+    private final long[][] segments;
+
+    /** Constructs a BigLongArray of SIZE zeros with the default segment
+     *  size. */
+    public BigLongArray(long size) {
+        this(size, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /** Constructs a BigLongArray of SIZE zeros split into segments of
+     *  2^SEGMENTSHIFT longs. */
+    public BigLongArray(long size, int segmentShift) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        if (segmentShift < 1 || segmentShift > 30) {
+            throw new IllegalArgumentException(
+                            "Segment shift out of range: " + segmentShift);
+        }
+        this.size = size;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+
+        long count = (size + segmentMask) >>> segmentShift;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many segments: " + count);
+        }
+        segments = new long[(int) count][];
+        for (int s = 0; s < segments.length; s++) {
+            long remaining = size - ((long) s << segmentShift);
+            segments[s] = new long[(int) Math.min(remaining, segmentMask + 1)];
+        }
+    }
+
+    /** Constructs a BigLongArray holding a copy of ARRAY. */
+    public BigLongArray(long[] array) {
+        this(array.length);
+        int position = 0;
+        for (long[] segment : segments) {
+            System.arraycopy(array, position, segment, 0, segment.length);
+            position += segment.length;
+        }
+    }
+
+    /** Returns the number of elements. */
+    public long size() {
+        return size;
+    }
+
+    /** Returns the element at INDEX. */
+    public long get(long index) {
+        checkIndex(index);
+        return segments[(int) (index >>> segmentShift)]
+                       [(int) (index & segmentMask)];
+    }
+
+    /** Sets the element at INDEX to VALUE. */
+    public void set(long index, long value) {
+        checkIndex(index);
+        segments[(int) (index >>> segmentShift)]
+                [(int) (index & segmentMask)] = value;
+    }
+
+    /** Swaps the elements at I and J. */
+    public void swap(long i, long j) {
+        long temp = get(i);
+        set(i, get(j));
+        set(j, temp);
+    }
+
+    /** Sets every element to VALUE. */
+    public void fill(long value) {
+        for (long[] segment : segments) {
+            Arrays.fill(segment, value);
+        }
+    }
+
+    /** Returns the lg of the number of longs per segment. */
+    public int segmentShift() {
+        return segmentShift;
+    }
+
+    /** Returns the number of segments. */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /** Returns segment S itself, not a copy, so writes to it show up in
+     *  this array. It holds the elements from S << segmentShift() on. */
+    public long[] segment(int s) {
+        return segments[s];
+    }
+
+    /** Returns the segment that holds INDEX. */
+    public int segmentOf(long index) {
+        return (int) (index >>> segmentShift);
+    }
+
+    /** Returns where INDEX lives within its segment. */
+    public int offsetOf(long index) {
+        return (int) (index & segmentMask);
+    }
+
+    /** Returns the elements as a single long array, if they fit in one. */
+    public long[] toArray() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(
+                            "Too many elements for an array: " + size);
+        }
+        long[] array = new long[(int) size];
+        int position = 0;
+        for (long[] segment : segments) {
+            System.arraycopy(segment, 0, array, position, segment.length);
+            position += segment.length;
+        }
+        return array;
+    }
+
+    /** Throws an IndexOutOfBoundsException unless INDEX is in range. */
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                            String.format("Index %d, size %d", index, size));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder beans = new StringBuilder("[");
+        long shown = Math.min(size, 64);
+        for (long i = 0; i < shown; i++) {
+            if (i > 0) {
+                beans.append(", ");
+            }
+            beans.append(get(i));
+        }
+        if (shown < size) {
+            beans.append(", ... (").append(size).append(" elements)");
+        }
+        return beans.append("]").toString();
+    }
+}
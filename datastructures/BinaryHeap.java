@@ -1,5 +1,7 @@
 package main.com.acscooter.datastructures;
 
+import java.util.Collection;
+
 /** The Binary Heap is a tree data structure that maintains the two properties:
  *
  *  (1) A binary heap is a complete binary tree. At all depths, it is always
@@ -35,6 +37,25 @@ public class BinaryHeap <Value extends Comparable<Value>>
         _heap = new DynamicArray<Value>();
     }
 
+    /** Constructs a heap holding every value in VALUES in linear time. */
+    public BinaryHeap(Collection<? extends Value> values) {
+        _heap = new DynamicArray<Value>();
+        for (Value value : values) {
+            _heap.add(value);
+        }
+        heapify();
+    }
+
+    /** Returns the number of values in the heap. */
+    public int size() {
+        return _heap.size();
+    }
+
+    /** Returns if the heap is empty. */
+    public boolean isEmpty() {
+        return _heap.isEmpty();
+    }
+
     @Override
     public void insert(Value value) {
         _heap.add(value);
@@ -68,22 +89,23 @@ public class BinaryHeap <Value extends Comparable<Value>>
 
         int index = _heap.indexOf(value);
         _heap.set(index, newValue);
-        _heapUp(index);
+        heapUp(index);
         return value;
     }
 
     /** Performs a heap up on the element at INDEX which swaps the element at
      *  INDEX with its parent if the element is greater than the parent. */
     private void heapUp(int index) {
+        if (index == 0) {
+            return;
+        }
         int parentIndex = (int) (Math.ceil(index / 2.0) - 1);
 
         Value curr = _heap.get(index);
         Value parent = _heap.get(parentIndex);
 
-        if (index > 0 &&  curr.compareTo(parent) > 0) {
-            _heap.set(parentIndex, curr);
-            _heap.set(index, curr);
-
+        if (curr.compareTo(parent) > 0) {
+            swap(parentIndex, index);
             heapUp(parentIndex);
         }
     }
@@ -93,25 +115,29 @@ public class BinaryHeap <Value extends Comparable<Value>>
     private void heapDown(int index) {
         int lIndex = 2 * index + 1;
         int rIndex = 2 * index + 2;
-        int largestIndex;
-
-        Value curr = _heap.get(index);
+        int largestIndex = index;
 
-        if (lIndex < _heap.size() && curr.compareTo(_heap.get(lIndex)) < 0) {
+        if (lIndex < _heap.size()
+            && _heap.get(largestIndex).compareTo(_heap.get(lIndex)) < 0) {
             largestIndex = lIndex;
-        } else if (rIndex < _heap.size()
-            && curr.compareTo(_heap.get(rIndex)) < 0) {
+        }
+        if (rIndex < _heap.size()
+            && _heap.get(largestIndex).compareTo(_heap.get(rIndex)) < 0) {
             largestIndex = rIndex;
-        } else {
-            largestindex = index;
         }
         if (largestIndex != index) {
-            _heap.set(index, _heap.get(largestIndex));
-            _heap.set(largestIndex, curr);
+            swap(index, largestIndex);
             heapDown(largestIndex);
         }
     }
 
+    /** Swaps the values at indices I and J. */
+    private void swap(int i, int j) {
+        Value temp = _heap.get(i);
+        _heap.set(i, _heap.get(j));
+        _heap.set(j, temp);
+    }
+
     /** Constructs the heap by performing a heap down from the lowest level to
      *  the top level. This performs heap construction from an unsorted array
      *  in linear time. */
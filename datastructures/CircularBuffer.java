@@ -4,6 +4,10 @@ import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** A circular buffer is an inititally empty array with a head and tail index
  *  equal to half the array's size. The head index always points to the first
@@ -14,9 +18,9 @@ import java.util.NoSuchElementException;
  *  then increasing the index. All value operations done on head and tail are
  *  done modulo the size of the buffer thus if you supercede the size of the
  *  buffer, the index wraps around (hence the name circular). In that manner,
- *  the only time where head and tail should be equal is when no element has
- *  been added. After the first element is added, the next time head and tail
- *  are equal signifies that the buffer is full and a resizing needs to be done.
+ *  the only time where head and tail should be equal is when the buffer is
+ *  empty, so the buffer is resized as soon as an insertion would fill its
+ *  last free slot.
  *
  *  It may seem for that reason, insertion and deletion are done in O(n) time.
  *  However, in reality, insertion and deletion are actually amortized constant
@@ -28,10 +32,11 @@ import java.util.NoSuchElementException;
  *  is because insertion does not care about what is currently in the buffer!
  *  @author Antares Chen
  *  @since  2015-07-20 */
+@SuppressWarnings("unchecked")
 public class CircularBuffer<Element> implements Iterable<Element> {
 
     /* The initialize size of the circular buffer. */
-    private static final INIT_SIZE = 8;
+    private static final int INIT_SIZE = 8;
 
     /* The circular buffer array. */
     private Element[] _buffer;
@@ -42,14 +47,14 @@ public class CircularBuffer<Element> implements Iterable<Element> {
 
     /** Initializes a CircularBuffer object with size 8. */
     public CircularBuffer() {
-        this(INIT_SIZE)
+        this(INIT_SIZE);
     }
 
     /** Initializes a CircularBuffer object with size SIZE. */
     public CircularBuffer(int size) {
-        _buffer = new Element[size];
-        _head = size / 2;
-        _tail = size / 2;
+        _buffer = (Element[]) new Object[Math.max(size, 1)];
+        _head = _buffer.length / 2;
+        _tail = _buffer.length / 2;
     }
 
     /** Returns if the queue is empty. This is true if the head index is the
@@ -61,7 +66,7 @@ public class CircularBuffer<Element> implements Iterable<Element> {
     /** Returns the size of the queue. This is equal to the tail index minus
      *  the head index modulo the length of the buffer. */
     public int size() {
-        return (_tail - _head) % _buffer.length;
+        return wrap(_tail - _head);
     }
 
     /** Returns the value at the head index. */
@@ -72,32 +77,33 @@ public class CircularBuffer<Element> implements Iterable<Element> {
     }
 
     /** Returns the value at the tail index. */
-    public Element getHead() {
+    public Element getTail() {
         if (isEmpty())
             throw new NoSuchElementException();
-        return _buffer[(_tail - 1) % buffer.length];
+        return _buffer[wrap(_tail - 1)];
     }
 
     /** Inserts VALUE at the head of the deque. This is done by first
-     *  decrementing the head index, checking if the head index is equal to the
-     *  tail (resizing if need be), and then adding the value. */
+     *  resizing if the buffer is about to fill up, then decrementing the head
+     *  index and adding the value. */
     public boolean addHead(Element value) {
-        _head = (_head - 1) % _buffer.length;
-        if (_head == _tail) {
+        if (size() == _buffer.length - 1) {
             resize();
         }
+        _head = wrap(_head - 1);
         _buffer[_head] = value;
         return true;
     }
 
-    /** Inserts VALUE at the tail of the deque. This is done by adding the
-     *  value, incrementing the tail index, and resizing if necessary. */
+    /** Inserts VALUE at the tail of the deque. This is done by resizing if
+     *  the buffer is about to fill up, adding the value and incrementing the
+     *  tail index. */
     public boolean addTail(Element value) {
-        _buffer[_tail] = value;
-        _tail = (_tail + 1) % _buffer.length;
-        if (_head == _tail) {
+        if (size() == _buffer.length - 1) {
             resize();
         }
+        _buffer[_tail] = value;
+        _tail = wrap(_tail + 1);
         return true;
     }
 
@@ -107,7 +113,8 @@ public class CircularBuffer<Element> implements Iterable<Element> {
             throw new NoSuchElementException();
         }
         Element value = _buffer[_head];
-        _head = (_head + 1) % _buffer.length;
+        _buffer[_head] = null;
+        _head = wrap(_head + 1);
         return value;
     }
 
@@ -116,8 +123,9 @@ public class CircularBuffer<Element> implements Iterable<Element> {
         if (isEmpty()) {
             throw new NoSuchElementException();
         }
-        Element value = _buffer[_tail - 1];
-        _tail = (_tail - 1) % _buffer.length;
+        _tail = wrap(_tail - 1);
+        Element value = _buffer[_tail];
+        _buffer[_tail] = null;
         return value;
     }
 
@@ -130,19 +138,24 @@ public class CircularBuffer<Element> implements Iterable<Element> {
      *  elements in the buffer and all that must be done is set the head and
      *  tail pointers. */
     private void resize() {
-        Element[] next = new Element[_buffer.length * 2];
-        int start = next.length / 2;
-        if (_head < _tail) {
-            System.arraycopy(_buffer, _head, next, start + _head, size());
-        } else if (_head > _tail) {
+        Element[] next = (Element[]) new Object[_buffer.length * 2];
+        int size = size();
+        int start = (next.length - size) / 2;
+        if (_head <= _tail) {
+            System.arraycopy(_buffer, _head, next, start, size);
+        } else {
             int firstSize = _buffer.length - _head;
             System.arraycopy(_buffer, _head, next, start, firstSize);
             System.arraycopy(_buffer, 0, next, start + firstSize, _tail);
-        } else {
-            _head = start;
-            _tail = start;
         }
         _buffer = next;
+        _head = start;
+        _tail = start + size;
+    }
+
+    /** Returns INDEX wrapped around into the buffer. */
+    private int wrap(int index) {
+        return Math.floorMod(index, _buffer.length);
     }
 
     @Override
@@ -152,7 +165,10 @@ public class CircularBuffer<Element> implements Iterable<Element> {
         for (Element value : this)
             beans += value + ", ";
 
-        beans = beans.substring(0, beans.length() - 2) + "]";
+        if (beans.equals("["))
+            beans = "[]";
+        else
+            beans = beans.substring(0, beans.length() - 2) + "]";
         return beans;
     }
 
@@ -161,6 +177,25 @@ public class CircularBuffer<Element> implements Iterable<Element> {
         return new CircularIterator();
     }
 
+    /** Returns a spliterator over the buffer from head to tail. It works on
+     *  positions relative to the head and splits them down the middle, so a
+     *  buffer that wraps around the end of the array splits as evenly as one
+     *  that doesn't. Like the iterator it binds to the buffer when made. */
+    @Override
+    public Spliterator<Element> spliterator() {
+        return new CircularSpliterator<>(_buffer, _head, 0, size());
+    }
+
+    /** Returns a sequential stream over the buffer from head to tail. */
+    public Stream<Element> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /** Returns a parallel stream over the buffer from head to tail. */
+    public Stream<Element> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /** A CircularIterator iterates through the circular buffer to access
      *  elements. */
     private class CircularIterator implements Iterator<Element> {
@@ -193,4 +228,70 @@ public class CircularBuffer<Element> implements Iterable<Element> {
         }
     }
 
+    /** A CircularSpliterator covers the positions from INDEX up to FENCE,
+     *  counted from HEAD, of BUFFER. */
+    private static class CircularSpliterator<Element>
+        implements Spliterator<Element> {
+
+        /* The buffer array. */
+        private final Element[] buffer;
+        /* The index of the buffer's head. */
+        private final int head;
+        /* The next position. */
+        private int index;
+        /* One past the last position. */
+        private final int fence;
+
+        CircularSpliterator(Element[] buffer, int head, int index, int fence) {
+            this.buffer = buffer;
+            this.head = head;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Element> action) {
+            if (index >= fence)
+                return false;
+            Element value = buffer[(head + index) % buffer.length];
+            index++;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Element> action) {
+            int i = head + index;
+            int end = head + fence;
+            int wrapAt = Math.min(end, buffer.length);
+            index = fence;
+            for (; i < wrapAt; i++)
+                action.accept(buffer[i]);
+            for (i -= buffer.length; i < end - buffer.length; i++)
+                action.accept(buffer[i]);
+        }
+
+        @Override
+        public Spliterator<Element> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index)
+                return null;
+            Spliterator<Element> prefix =
+                new CircularSpliterator<>(buffer, head, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED
+                    | Spliterator.SUBSIZED;
+        }
+    }
+
 }
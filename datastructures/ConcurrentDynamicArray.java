@@ -0,0 +1,193 @@
+package main.com.acscooter.datastructures;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/** ConcurrentDynamicArray is an append-only dynamic array that any number of
+ *  threads may add to and read from at once without locking. Elements live
+ *  in segments that double in size, FIRST_SEGMENT, 2 * FIRST_SEGMENT and so
+ *  on, so growing never copies anything: a full array just gets another
+ *  segment, and elements never move once written.
+ *
+ *  An add reserves its slot with a single atomic increment of the reserved
+ *  count and then writes the element into it. Slots can be filled out of
+ *  order, so a second count, the published size, only ever moves past slots
+ *  that are filled. Every adder pushes it forward as far as the filled slots
+ *  go, which also covers slots that adders before it filled late. Readers
+ *  see exactly the published elements: get is wait-free and an iterator is a
+ *  snapshot of the elements published when it was created, which later adds
+ *  don't disturb. There is no set or remove; both throw
+ *  UnsupportedOperationException, as for any unmodifiable List.
+ *
+ *  @author Antares Chen
+ *  @since  2026-10-17
+ */
+public final class ConcurrentDynamicArray<E> extends AbstractList<E>
+    implements Iterable<E>, Serializable, List<E> {
+
+    /** The Serial Version UID. */
+    private static final long serialVersionUID = 6021830493515527193L;
+    /** The lg of the size of the first segment. */
+    private static final int LG_FIRST_SEGMENT = 4;
+    /** The size of the first segment. */
+    private static final int FIRST_SEGMENT = 1 << LG_FIRST_SEGMENT;
+    /** The largest number of elements the array can hold. */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_SEGMENT;
+
+    /** The segments, allocated as they are first needed. */
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments;
+    /** The number of slots handed out to adders. */
+    private final AtomicInteger reserved;
+    /** The number of slots, all filled, that readers may see. */
+    private final AtomicInteger published;
+
+    /** Constructs an empty ConcurrentDynamicArray. */
+    public ConcurrentDynamicArray() {
+        segments = new AtomicReferenceArray<>(
+                                segmentOf(MAX_SIZE - 1) + 1);
+        reserved = new AtomicInteger();
+        published = new AtomicInteger();
+    }
+
+    /** Appends E. Safe to call from any number of threads at once. */
+    @Override
+    public boolean add(E e) {
+        int index = reserved.getAndIncrement();
+        if (index < 0 || index >= MAX_SIZE) {
+            throw new IllegalStateException("Array is full");
+        }
+        int s = segmentOf(index);
+        segment(s).set(offsetOf(index, s), e == null ? Null.VALUE : e);
+        publish();
+        return true;
+    }
+
+    @Override
+    public E get(int index) {
+        int size = published.get();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                            String.format("Index %d, size %d", index, size));
+        }
+        int s = segmentOf(index);
+        return unwrap(segments.get(s).get(offsetOf(index, s)));
+    }
+
+    /** Returns the number of published elements. */
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    /** Hands every element published at the time of the call to ACTION, a
+     *  segment at a time. */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int size = published.get();
+        int index = 0;
+        for (int s = 0; index < size; s++) {
+            AtomicReferenceArray<Object> segment = segments.get(s);
+            int length = Math.min(segment.length(), size - index);
+            for (int i = 0; i < length; i++) {
+                action.accept(unwrap(segment.get(i)));
+            }
+            index += length;
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator();
+    }
+
+    /** Moves the published size past every filled slot that directly
+     *  follows it. An adder that fills its slot after the one before it has
+     *  stopped looking still sees its own slot next in line and moves on. */
+    private void publish() {
+        while (true) {
+            int size = published.get();
+            if (size >= reserved.get() || size >= MAX_SIZE) {
+                return;
+            }
+            int s = segmentOf(size);
+            AtomicReferenceArray<Object> segment = segments.get(s);
+            if (segment == null || segment.get(offsetOf(size, s)) == null) {
+                return;
+            }
+            published.compareAndSet(size, size + 1);
+        }
+    }
+
+    /** Returns segment S, allocating it if no one has yet. */
+    private AtomicReferenceArray<Object> segment(int s) {
+        AtomicReferenceArray<Object> segment = segments.get(s);
+        if (segment == null) {
+            segments.compareAndSet(s, null,
+                        new AtomicReferenceArray<>(FIRST_SEGMENT << s));
+            segment = segments.get(s);
+        }
+        return segment;
+    }
+
+    /** Returns the segment that holds INDEX. */
+    private static int segmentOf(int index) {
+        int position = index + FIRST_SEGMENT;
+        return (31 - Integer.numberOfLeadingZeros(position))
+                    - LG_FIRST_SEGMENT;
+    }
+
+    /** Returns where INDEX lives within segment S. */
+    private static int offsetOf(int index, int s) {
+        return index + FIRST_SEGMENT - (FIRST_SEGMENT << s);
+    }
+
+    /** Returns the element stored as VALUE. */
+    @SuppressWarnings("unchecked")
+    private static <E> E unwrap(Object value) {
+        return value == Null.VALUE ? null : (E) value;
+    }
+
+    /** Null stands in for null elements, since an empty slot is null. An
+     *  enum constant stays the same object across serialization. */
+    private enum Null { VALUE }
+
+    /** SnapshotIterator iterates over the elements published when it was
+     *  created. */
+    private class SnapshotIterator implements Iterator<E> {
+        /** The number of elements to iterate over. */
+        final int size = published.get();
+        /** The index of the next element. */
+        int index = 0;
+        /** The segment holding the next element. */
+        int s = 0;
+        /** The offset of the next element in its segment. */
+        int offset = 0;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            AtomicReferenceArray<Object> segment = segments.get(s);
+            E current = unwrap(segment.get(offset));
+            index ++;
+            offset ++;
+            if (offset == segment.length()) {
+                s ++;
+                offset = 0;
+            }
+            return current;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 /** The deque (double ended queue) is a abstract data structure that only allows
  *  access from the front and end of the queue. This implementation is backed
@@ -69,4 +71,20 @@ public class Dequeue<Element> implements Serializable, Iterable<Element> {
         return _buffer.iterator();
     }
 
+    /** Returns a spliterator over the dequeue from first to last. */
+    @Override
+    public Spliterator<Element> spliterator() {
+        return _buffer.spliterator();
+    }
+
+    /** Returns a sequential stream over the dequeue. */
+    public Stream<Element> stream() {
+        return _buffer.stream();
+    }
+
+    /** Returns a parallel stream over the dequeue. */
+    public Stream<Element> parallelStream() {
+        return _buffer.parallelStream();
+    }
+
 }
@@ -6,6 +6,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /** DynamicArray implements a dynamically sizing array with lazy copying. This
  *  provides amortized O(1) costs for lookup, insertion and deletion from end.
@@ -45,7 +47,7 @@ public final class DynamicArray<E> extends AbstractList<E>
         oldArray = currentArray;
         shadow = -1;
         end = 0;
-        isDynamic = false;
+        isDynamic = (initialCapacity == 0);
     }
 
     /** Constructs a Dynamic Array from C. */
@@ -56,9 +58,9 @@ public final class DynamicArray<E> extends AbstractList<E>
     /** Constructs a Dynamic Array from ARRAY. */
     public DynamicArray(E[] array) {
         currentArray = array;
-        oldArray = null;
+        oldArray = currentArray;
         isDynamic = true;
-        shadow = currentArray.length - 1;
+        shadow = -1;
         end = currentArray.length;
     }
 
@@ -67,17 +69,20 @@ public final class DynamicArray<E> extends AbstractList<E>
         if (isDynamic) {
             if (end == currentArray.length) {
                 oldArray = currentArray;
-                currentArray = (E[]) new Object[oldArray.length * 2];
+                currentArray =
+                    (E[]) new Object[Math.max(1, oldArray.length * 2)];
 
                 shadow = end - 1;
             }
 
             currentArray[end] = e;
-            currentArray[shadow] = oldArray[shadow];
-            oldArray[shadow] = null;
+            if (shadow >= 0) {
+                currentArray[shadow] = oldArray[shadow];
+                oldArray[shadow] = null;
+                shadow -= 1;
+            }
 
             end += 1;
-            shadow -= 1;
         } else {
             currentArray[end] = e;
             end++;
@@ -122,7 +127,7 @@ public final class DynamicArray<E> extends AbstractList<E>
 
     @Override
     public E get(int index) {
-        if (index < 0 || index > size()) {
+        if (index < 0 || index >= size()) {
             throw new IndexOutOfBoundsException(
                             String.format("Index %d, size %d", index, size()));
         }
@@ -149,55 +154,23 @@ public final class DynamicArray<E> extends AbstractList<E>
         return original;
     }
 
+    /** Removes the element at INDEX. Removal shifts every later element down
+     *  by one anyway, so any copy still in progress is finished first and the
+     *  removal then happens in the current array alone. */
     @Override
     public E remove(int index) {
         E target = get(index);
 
-        if (isDynamic) {
-            if (index > shadow) {
-                System.arraycopy(currentArray, index + 1, currentArray, index,
-                                    (end - 1) - index);
-
-                oldArray[shadow + 1] = currentArray[shadow + 1];
-                currentArray[end - 1] = null;
-                currentArray[shadow + 1] = null;
-
-                shadow += 1;
-                end -= 1;
-            } else {
-                System.arraycopy(oldArray, index + 1, oldArray, index,
-                                    shadow - index);
-
-                for (int i = 0; i < 2; i++) {
-                    oldArray[shadow + i] = currentArray[shadow + 1 + i];
-                    currentArray[shadow + 1 + i] = null;
-                }
-
-                shadow += 1;
-                System.arraycopy(currentArray, shadow + 2, currentArray,
-                                    shadow + 1, end - shadow - 1);
-                currentArray[end - 1] = null;
-                end -= 1;
-            }
-            if (end == shadow + 1) {
-                currentArray = oldArray;
-
-                oldArray = (E[]) new Object[currentArray.length / 2];
-                shadow = -1;
-                end = currentArray.length;
-            }
-        } else {
-            System.arraycopy(currentArray, index + 1, currentArray, index,
-                                    end - (index + 1));
-            currentArray[end - 1] = null;
-            oldArray = currentArray;
-            end -= 1;
-        }
-        if (this.size() <= 3) {
-            isDynamic = false;
-            oldArray = currentArray;
+        if (shadow >= 0) {
+            System.arraycopy(oldArray, 0, currentArray, 0, shadow + 1);
             shadow = -1;
         }
+        System.arraycopy(currentArray, index + 1, currentArray, index,
+                            end - (index + 1));
+        currentArray[end - 1] = null;
+        oldArray = currentArray;
+        end -= 1;
+        isDynamic = false;
         return target;
     }
 
@@ -221,6 +194,17 @@ public final class DynamicArray<E> extends AbstractList<E>
         return new DynamicIterator();
     }
 
+    /** Returns a spliterator that reads the two buffers directly. Elements up
+     *  to shadow still live in oldArray and the rest in currentArray, so it
+     *  splits at that boundary when the boundary is near the middle, leaving
+     *  each half with one buffer to read, and at the middle otherwise. Like
+     *  the iterator it is not fail-fast, and it binds to the buffers when it
+     *  is made. */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new DynamicSpliterator<>(oldArray, currentArray, shadow, 0, end);
+    }
+
     /** DynamicIterator provides an iterator for Dynamic Array. */
     private class DynamicIterator implements Iterator<E> {
         int index = 0;
@@ -240,4 +224,74 @@ public final class DynamicArray<E> extends AbstractList<E>
             return current;
         }
     }
+
+    /** DynamicSpliterator covers the elements from INDEX up to FENCE, reading
+     *  those up to SHADOW from OLD and the rest from CURRENT. */
+    private static final class DynamicSpliterator<E>
+        implements Spliterator<E> {
+        private final E[] old;
+        private final E[] current;
+        private final int shadow;
+        private int index;
+        private final int fence;
+
+        DynamicSpliterator(E[] old, E[] current, int shadow, int index,
+                            int fence) {
+            this.old = old;
+            this.current = current;
+            this.shadow = shadow;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index >= fence)
+                return false;
+
+            E e = index <= shadow ? old[index] : current[index];
+            index ++;
+            action.accept(e);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            int i = index;
+            int split = Math.min(shadow + 1, fence);
+            index = fence;
+            for (; i < split; i++)
+                action.accept(old[i]);
+            for (; i < fence; i++)
+                action.accept(current[i]);
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int size = fence - index;
+            if (size < 2)
+                return null;
+
+            int middle = index + size / 2;
+            int boundary = shadow + 1;
+            if (boundary > index + size / 4 && boundary < fence - size / 4)
+                middle = boundary;
+
+            Spliterator<E> prefix = new DynamicSpliterator<>(old, current,
+                                                    shadow, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED
+                    | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package main.com.acscooter.datastructures;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
 
 
 /**
@@ -22,6 +23,9 @@ import java.util.*;
  *
  * In essence, this was done as an excercise in extending the Java collections code base, and like the oracle guide
  * says, it's was actually very easy. All that really needs to be implemented is a List iterator. Good stuff oracle.
+ *
+ * One node per element makes positional access O(n) and a scan chase a pointer per element. UnrolledLinkedList is the
+ * same list with up to 64 elements per node, for long lists that get indexed into or scanned a lot.
  */
 public class LinkedList<E> extends AbstractSequentialList<E> implements Iterable<E>, List<E>, Serializable
 {
@@ -99,6 +103,103 @@ public class LinkedList<E> extends AbstractSequentialList<E> implements Iterable
     }
 
 
+    /**
+     * The default spliterator of a sequential list hands out arrays of ever growing batches, so the first few splits
+     * give a parallel stream only a sliver of the list each. This one splits a range of nodes down the middle instead,
+     * walking to the middle node to do it. That is a walk over half the range per split, but a parallel stream only
+     * splits a handful of times, and the halves it gets are the same size and their sizes are exact.
+     * @return a late-binding spliterator over the list
+     */
+    @Override
+    public Spliterator<E> spliterator()
+    {
+        return new LinkedListSpliterator(null, -1);
+    }
+
+
+    /**
+     * A LinkedListSpliterator covers the REMAINING nodes starting at FIRST. The first spliterator binds to the whole
+     * list when it is first used rather than when it is made, so changes to the list before then are seen.
+     */
+    private class LinkedListSpliterator implements Spliterator<E>
+    {
+        private Node<E> first;
+        private int remaining;
+
+        LinkedListSpliterator(Node<E> first, int remaining)
+        {
+            this.first = first;
+            this.remaining = remaining;
+        }
+
+        private void bind()
+        {
+            if (remaining < 0)
+            {
+                first = sentinel.next;
+                remaining = size;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action)
+        {
+            bind();
+            if (remaining == 0)
+                return false;
+
+            E value = first.value;
+            first = first.next;
+            remaining --;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action)
+        {
+            bind();
+            Node<E> current = first;
+            int count = remaining;
+            first = sentinel;
+            remaining = 0;
+            for (; count > 0; count --)
+            {
+                action.accept(current.value);
+                current = current.next;
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit()
+        {
+            bind();
+            int half = remaining >>> 1;
+            if (half == 0)
+                return null;
+
+            Node<E> prefix = first;
+            for (int i = 0; i < half; i ++)
+                first = first.next;
+            remaining -= half;
+            return new LinkedListSpliterator(prefix, half);
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            bind();
+            return remaining;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+
     /**
      * The LinkedListIterator has three fields. Current represents the current node that the iterator cursor is meant
      * to reference. The index should always be the index of the current node. Finally, last returned represents the
@@ -0,0 +1,244 @@
+package main.com.acscooter.datastructures;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/** LongDynamicArray is a DynamicArray of longs that stores them unboxed. A
+ *  long takes eight bytes here instead of a reference plus a Long object,
+ *  and nothing is boxed on the way in or out. Growth works exactly like in
+ *  DynamicArray: when the array fills up, a buffer twice the size is
+ *  allocated and every following add copies one element of the old buffer
+ *  over, so no single add ever pays for copying the whole array.
+ *
+ *  @author Antares Chen
+ *  @since  2026-10-17
+ */
+public final class LongDynamicArray implements Serializable {
+
+    /** The Serial Version UID. */
+    private static final long serialVersionUID = -6920375118645234812L;
+    /** The initial capacity of the LongDynamicArray. */
+    private static final int INITIAL_SIZE = 1;
+
+    /** The old buffer. */
+    private long[] oldArray;
+    /** The current array. */
+    private long[] currentArray;
+    /** The index of what next to copy into currentArray. */
+    private int shadow;
+    /** The index of array end. */
+    private int end;
+    /** If the current buffers are dynamic. */
+    private boolean isDynamic;
+
+    /** Constructs a LongDynamicArray with initial size of INITIAL_SIZE. */
+    public LongDynamicArray() {
+        this(INITIAL_SIZE);
+    }
+
+    /** Constructs a LongDynamicArray with initial size INITIALCAPACITY. */
+    public LongDynamicArray(int initialCapacity) {
+        currentArray = new long[initialCapacity];
+        oldArray = currentArray;
+        shadow = -1;
+        end = 0;
+        isDynamic = (initialCapacity == 0);
+    }
+
+    /** Constructs a LongDynamicArray holding ARRAY, which becomes its
+     *  backing buffer. */
+    public LongDynamicArray(long[] array) {
+        currentArray = array;
+        oldArray = currentArray;
+        isDynamic = true;
+        shadow = -1;
+        end = currentArray.length;
+    }
+
+    /** Appends E. */
+    public void add(long e) {
+        if (isDynamic) {
+            if (end == currentArray.length) {
+                oldArray = currentArray;
+                currentArray = new long[Math.max(1, oldArray.length * 2)];
+
+                shadow = end - 1;
+            }
+
+            currentArray[end] = e;
+            if (shadow >= 0) {
+                currentArray[shadow] = oldArray[shadow];
+                shadow -= 1;
+            }
+
+            end += 1;
+        } else {
+            currentArray[end] = e;
+            end++;
+            isDynamic = (end == currentArray.length);
+        }
+    }
+
+    /** Inserts ELEMENT at INDEX, shifting every later element up by one. */
+    public void add(int index, long element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                        String.format("Index %d, size %d", index, size()));
+        }
+        if (isDynamic) {
+            add(element);
+
+            if (index > shadow) {
+                System.arraycopy(currentArray, index, currentArray, index + 1,
+                                (end - 1) - index);
+                currentArray[index] = element;
+            } else {
+                System.arraycopy(currentArray, shadow + 1, currentArray,
+                                shadow + 2, (end - 1) - (shadow + 1));
+                System.arraycopy(oldArray, index, oldArray, index + 1,
+                                (shadow + 1) - index);
+
+                oldArray[index] = element;
+                currentArray[shadow + 1] = oldArray[shadow + 1];
+            }
+        } else {
+            System.arraycopy(currentArray, index, currentArray, index + 1,
+                                end - index);
+
+            currentArray[index] = element;
+            oldArray = currentArray;
+            end += 1;
+            isDynamic = (end == currentArray.length);
+        }
+    }
+
+    /** Appends every element of VALUES. A bulk append copies anyway, so any
+     *  copy still in progress is finished first and the buffer grows at most
+     *  once, to fit everything. */
+    public void addAll(long[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        finishCopy();
+        if (end + values.length > currentArray.length) {
+            currentArray = Arrays.copyOf(currentArray,
+                    Math.max(end + values.length, currentArray.length * 2));
+            oldArray = currentArray;
+        }
+        System.arraycopy(values, 0, currentArray, end, values.length);
+        end += values.length;
+        isDynamic = (end == currentArray.length);
+    }
+
+    /** Returns the element at INDEX. */
+    public long get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                            String.format("Index %d, size %d", index, size()));
+        }
+        if (index <= shadow) {
+            return oldArray[index];
+        }
+        return currentArray[index];
+    }
+
+    /** Returns the number of elements. */
+    public int size() {
+        return end;
+    }
+
+    /** Returns if there are no elements. */
+    public boolean isEmpty() {
+        return end == 0;
+    }
+
+    /** Sets the element at INDEX to VALUE and returns the one it replaced. */
+    public long set(int index, long value) {
+        long original = get(index);
+
+        if (index <= shadow)
+            oldArray[index] = value;
+        else
+            currentArray[index] = value;
+
+        return original;
+    }
+
+    /** Removes the element at INDEX. Removal shifts every later element down
+     *  by one anyway, so any copy still in progress is finished first and the
+     *  removal then happens in the current array alone. */
+    public long remove(int index) {
+        long target = get(index);
+
+        finishCopy();
+        System.arraycopy(currentArray, index + 1, currentArray, index,
+                            end - (index + 1));
+        end -= 1;
+        isDynamic = false;
+        return target;
+    }
+
+    /** Returns a copy of the elements. */
+    public long[] toArray() {
+        long[] array = new long[end];
+        System.arraycopy(oldArray, 0, array, 0, shadow + 1);
+        System.arraycopy(currentArray, shadow + 1, array, shadow + 1,
+                            end - (shadow + 1));
+        return array;
+    }
+
+    /** Hands every element to ACTION in order, reading both buffers
+     *  directly rather than checking the shadow for every element. */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i <= shadow; i++)
+            action.accept(oldArray[i]);
+        for (int i = shadow + 1; i < end; i++)
+            action.accept(currentArray[i]);
+    }
+
+    /** Returns an iterator over the elements that doesn't box them. */
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongDynamicIterator();
+    }
+
+    /** Copies whatever the lazy copy hasn't moved yet into currentArray. */
+    private void finishCopy() {
+        if (shadow >= 0) {
+            System.arraycopy(oldArray, 0, currentArray, 0, shadow + 1);
+            shadow = -1;
+        }
+        oldArray = currentArray;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder beans = new StringBuilder("[");
+        forEach(e -> beans.append(e).append(", "));
+        if (end > 0)
+            beans.setLength(beans.length() - 2);
+        return beans.append("]").toString();
+    }
+
+    /** LongDynamicIterator provides an iterator for LongDynamicArray. */
+    private class LongDynamicIterator implements PrimitiveIterator.OfLong {
+        int index = 0;
+
+        @Override
+        public boolean hasNext() {
+            return index != size();
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            long current = get(index);
+            index ++;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package main.com.acscooter.datastructures;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/** OffHeapDynamicArray is a DynamicArray of fixed width values kept outside
+ *  the Java heap, in direct ByteBuffers. A value is WIDTH bytes: a long or a
+ *  double with a width of 8, or a record of several fields laid out at fixed
+ *  offsets, like the records RecordSort sorts. However many values there
+ *  are, the garbage collector sees a handful of buffer objects and nothing
+ *  else.
+ *
+ *  A single ByteBuffer holds at most 2^31 - 1 bytes, so the values are
+ *  split into segments of 2^segmentShift values each, the way BigLongArray
+ *  splits its arrays, and indexed by long: value i lives at index
+ *  i & (segmentSize - 1) of segment i >>> segmentShift. The default segment
+ *  is at most 16 MiB, and the number of values is limited by memory rather
+ *  than by the size of a buffer.
+ *
+ *  Only the first segment grows the way DynamicArray does: when it fills
+ *  up, one twice the size is allocated and every following add copies one
+ *  value of the old buffer over, so no add ever stops to copy the whole
+ *  array. Values up to shadow still live in the old buffer until then. Once
+ *  the first segment is full size the array grows a whole segment at a
+ *  time and never copies again. The JDK zeroes a direct buffer when it
+ *  allocates it, so the add that allocates costs about a memset of one
+ *  segment, however big the array already is.
+ *
+ *  Direct buffers are freed once the garbage collector finds them
+ *  unreachable, which for a buffer that is rarely allocated can be a long
+ *  time. close drops the buffers so they can be reclaimed, and any use of
+ *  the array after that throws an IllegalStateException rather than
+ *  touching freed memory. Values are stored in native byte order.
+ *
+ *  @author Antares Chen
+ *  @since  2026-10-17
+ */
+public final class OffHeapDynamicArray implements Closeable {
+
+    /** The initial capacity of the OffHeapDynamicArray, in values. */
+    private static final int INITIAL_SIZE = 16;
+    /** The largest number of bytes in a default sized segment. */
+    private static final int DEFAULT_SEGMENT_BYTES = 1 << 24;
+
+    /** The number of bytes per value. */
+    private final int width;
+    /** The lg of the number of values per segment. */
+    private final int segmentShift;
+    /** The number of values per segment. */
+    private final int segmentSize;
+    /** The segment size minus one, to mask an index with. */
+    private final long segmentMask;
+    /** The segments, of which the first segmentCount are in use. */
+    private ByteBuffer[] segments;
+    /** The number of segments in use. */
+    private int segmentCount;
+    /** The old buffer of the first segment. */
+    private ByteBuffer oldBuffer;
+    /** The capacity of all segments together, in values. */
+    private long capacity;
+    /** The index of what next to copy into the first segment. */
+    private int shadow;
+    /** The index of array end. */
+    private long end;
+
+    /** Constructs an OffHeapDynamicArray of WIDTH byte values with initial
+     *  size of INITIAL_SIZE. */
+    public OffHeapDynamicArray(int width) {
+        this(width, INITIAL_SIZE);
+    }
+
+    /** Constructs an OffHeapDynamicArray of WIDTH byte values with initial
+     *  size INITIALCAPACITY and segments of at most 16 MiB. */
+    public OffHeapDynamicArray(int width, long initialCapacity) {
+        this(width, initialCapacity, defaultSegmentShift(width));
+    }
+
+    /** Constructs an OffHeapDynamicArray of WIDTH byte values with initial
+     *  size INITIALCAPACITY, split into segments of 2^SEGMENTSHIFT values. */
+    public OffHeapDynamicArray(int width, long initialCapacity,
+                               int segmentShift) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive: "
+                                                + width);
+        }
+        if (segmentShift < 0 || segmentShift > 30
+            || ((long) width << segmentShift) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                "Segment shift %d out of range for width %d", segmentShift,
+                width));
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                            "Capacity out of range: " + initialCapacity);
+        }
+        this.width = width;
+        this.segmentShift = segmentShift;
+        this.segmentSize = 1 << segmentShift;
+        this.segmentMask = segmentSize - 1;
+
+        long count = Math.max(1,
+                        (initialCapacity + segmentMask) >>> segmentShift);
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                            "Capacity out of range: " + initialCapacity);
+        }
+        segments = new ByteBuffer[(int) Math.max(count, 4)];
+        int first = (int) Math.min(Math.max(1, initialCapacity), segmentSize);
+        segments[0] = allocate(count > 1 ? segmentSize : first);
+        capacity = count > 1 ? segmentSize : first;
+        segmentCount = 1;
+        while (segmentCount < count) {
+            segments[segmentCount++] = allocate(segmentSize);
+            capacity += segmentSize;
+        }
+        oldBuffer = segments[0];
+        shadow = -1;
+        end = 0;
+    }
+
+    /** Returns the number of bytes per value. */
+    public int width() {
+        return width;
+    }
+
+    /** Returns the lg of the number of values per segment. */
+    public int segmentShift() {
+        return segmentShift;
+    }
+
+    /** Returns the number of values. */
+    public long size() {
+        return end;
+    }
+
+    /** Returns if there are no values. */
+    public boolean isEmpty() {
+        return end == 0;
+    }
+
+    /** Returns if the array has not been closed. */
+    public boolean isOpen() {
+        return segments != null;
+    }
+
+    /** Appends a value of all zero bytes and returns its index, so that a
+     *  record can be filled in field by field. Direct buffers start out
+     *  zeroed and nothing is ever written past the end, so there is nothing
+     *  to clear. */
+    public long add() {
+        return reserve();
+    }
+
+    /** Appends the long VALUE. The width must be at least 8. */
+    public void addLong(long value) {
+        checkField(0, Long.BYTES);
+        long index = reserve();
+        bufferOf(index).putLong(offsetOf(index), value);
+    }
+
+    /** Appends the double VALUE. The width must be at least 8. */
+    public void addDouble(double value) {
+        checkField(0, Double.BYTES);
+        long index = reserve();
+        bufferOf(index).putDouble(offsetOf(index), value);
+    }
+
+    /** Appends the next width bytes of RECORD as a value, advancing its
+     *  position past them. */
+    public void add(ByteBuffer record) {
+        if (record.remaining() < width) {
+            throw new IllegalArgumentException(String.format(
+                "Record has %d bytes left, width %d", record.remaining(),
+                width));
+        }
+        long index = reserve();
+        ByteBuffer buffer = bufferOf(index);
+        int offset = offsetOf(index);
+        int position = record.position();
+        for (int i = 0; i < width; i++)
+            buffer.put(offset + i, record.get(position + i));
+        record.position(position + width);
+    }
+
+    /** Returns the value at INDEX as a long. */
+    public long getLong(long index) {
+        return getLong(index, 0);
+    }
+
+    /** Returns the long field at byte OFFSET of the value at INDEX. */
+    public long getLong(long index, int offset) {
+        checkField(offset, Long.BYTES);
+        return checkedBufferOf(index).getLong(offsetOf(index) + offset);
+    }
+
+    /** Returns the value at INDEX as a double. */
+    public double getDouble(long index) {
+        return getDouble(index, 0);
+    }
+
+    /** Returns the double field at byte OFFSET of the value at INDEX. */
+    public double getDouble(long index, int offset) {
+        checkField(offset, Double.BYTES);
+        return checkedBufferOf(index).getDouble(offsetOf(index) + offset);
+    }
+
+    /** Returns the int field at byte OFFSET of the value at INDEX. */
+    public int getInt(long index, int offset) {
+        checkField(offset, Integer.BYTES);
+        return checkedBufferOf(index).getInt(offsetOf(index) + offset);
+    }
+
+    /** Copies the value at INDEX into TARGET at its position, advancing the
+     *  position past it. */
+    public void get(long index, ByteBuffer target) {
+        ByteBuffer buffer = checkedBufferOf(index);
+        if (target.remaining() < width) {
+            throw new IllegalArgumentException(String.format(
+                "Target has %d bytes left, width %d", target.remaining(),
+                width));
+        }
+        int offset = offsetOf(index);
+        int position = target.position();
+        for (int i = 0; i < width; i++)
+            target.put(position + i, buffer.get(offset + i));
+        target.position(position + width);
+    }
+
+    /** Sets the value at INDEX to the long VALUE. */
+    public void setLong(long index, long value) {
+        setLong(index, 0, value);
+    }
+
+    /** Sets the long field at byte OFFSET of the value at INDEX to VALUE. */
+    public void setLong(long index, int offset, long value) {
+        checkField(offset, Long.BYTES);
+        checkedBufferOf(index).putLong(offsetOf(index) + offset, value);
+    }
+
+    /** Sets the value at INDEX to the double VALUE. */
+    public void setDouble(long index, double value) {
+        setDouble(index, 0, value);
+    }
+
+    /** Sets the double field at byte OFFSET of the value at INDEX to
+     *  VALUE. */
+    public void setDouble(long index, int offset, double value) {
+        checkField(offset, Double.BYTES);
+        checkedBufferOf(index).putDouble(offsetOf(index) + offset, value);
+    }
+
+    /** Sets the int field at byte OFFSET of the value at INDEX to VALUE. */
+    public void setInt(long index, int offset, int value) {
+        checkField(offset, Integer.BYTES);
+        checkedBufferOf(index).putInt(offsetOf(index) + offset, value);
+    }
+
+    /** Drops the buffers so their memory can be reclaimed. Closing an array
+     *  twice does nothing. */
+    @Override
+    public void close() {
+        segments = null;
+        oldBuffer = null;
+        segmentCount = 0;
+        capacity = 0;
+        shadow = -1;
+        end = 0;
+    }
+
+    /** Makes room for one more value, copying one value of the old buffer
+     *  over if a copy is in progress, and returns the index of the new
+     *  value, which lives in the current segments. */
+    private long reserve() {
+        checkOpen();
+        if (end == capacity) {
+            if (capacity < segmentSize) {
+                oldBuffer = segments[0];
+                int size = (int) Math.min(capacity * 2, segmentSize);
+                segments[0] = allocate(size);
+                capacity = size;
+
+                shadow = (int) end - 1;
+            } else {
+                if (segmentCount >= Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Array is full: " + end
+                                                    + " values");
+                }
+                if (segmentCount == segments.length) {
+                    segments = Arrays.copyOf(segments, (int) Math.min(
+                        (long) segmentCount * 2, Integer.MAX_VALUE - 8));
+                }
+                segments[segmentCount++] = allocate(segmentSize);
+                capacity += segmentSize;
+            }
+        }
+
+        if (shadow >= 0) {
+            copy(shadow);
+            shadow -= 1;
+            if (shadow < 0)
+                oldBuffer = segments[0];
+        }
+
+        return end++;
+    }
+
+    /** Copies the value at INDEX from oldBuffer into the first segment. */
+    private void copy(int index) {
+        ByteBuffer target = segments[0];
+        int offset = index * width;
+        int i = 0;
+        for (; i + Long.BYTES <= width; i += Long.BYTES)
+            target.putLong(offset + i, oldBuffer.getLong(offset + i));
+        for (; i < width; i++)
+            target.put(offset + i, oldBuffer.get(offset + i));
+    }
+
+    /** Returns the buffer that holds INDEX, after checking that it is in
+     *  range. */
+    private ByteBuffer checkedBufferOf(long index) {
+        checkOpen();
+        if (index < 0 || index >= end) {
+            throw new IndexOutOfBoundsException(
+                            String.format("Index %d, size %d", index, end));
+        }
+        return bufferOf(index);
+    }
+
+    /** Returns the buffer that holds INDEX. */
+    private ByteBuffer bufferOf(long index) {
+        return index <= shadow ? oldBuffer
+                               : segments[(int) (index >>> segmentShift)];
+    }
+
+    /** Returns the byte offset of INDEX within its buffer. */
+    private int offsetOf(long index) {
+        return (int) (index & segmentMask) * width;
+    }
+
+    /** Throws an IndexOutOfBoundsException unless a field of LENGTH bytes at
+     *  OFFSET fits in a value. */
+    private void checkField(int offset, int length) {
+        if (offset < 0 || offset > width - length) {
+            throw new IndexOutOfBoundsException(String.format(
+                "Field of %d bytes at %d, width %d", length, offset, width));
+        }
+    }
+
+    /** Throws an IllegalStateException if the array has been closed. */
+    private void checkOpen() {
+        if (segments == null) {
+            throw new IllegalStateException("Array is closed");
+        }
+    }
+
+    /** Returns a direct buffer in native order for SIZE values. */
+    private ByteBuffer allocate(int size) {
+        return ByteBuffer.allocateDirect(size * width)
+                         .order(ByteOrder.nativeOrder());
+    }
+
+    /** Returns the largest segment shift for which a segment of WIDTH byte
+     *  values stays within DEFAULT_SEGMENT_BYTES, and at least 0. */
+    private static int defaultSegmentShift(int width) {
+        if (width <= 0) {
+            return 0;
+        }
+        int values = Math.max(1, DEFAULT_SEGMENT_BYTES / width);
+        return 31 - Integer.numberOfLeadingZeros(values);
+    }
+
+    @Override
+    public String toString() {
+        if (!isOpen())
+            return "OffHeapDynamicArray[closed]";
+        return String.format("OffHeapDynamicArray[size %d, width %d]", end,
+                                width);
+    }
+}
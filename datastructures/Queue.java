@@ -5,6 +5,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 
 /** A Queue is an abstract data structure that only allows removal from the
@@ -39,18 +41,18 @@ public class Queue<Element> implements Iterable<Element> {
 
     /** Inserts VALUE onto the end of the queue. Returns if the value was
      *  added. */
-    public boolean enqueue(E value) {
+    public boolean enqueue(Element value) {
         return _queue.addTail(value);
     }
 
     /** Returns and removes the front element of the queue. */
-    public E dequeue() {
+    public Element dequeue() {
         return _queue.removeHead();
     }
 
 
     /** Returns the top of the queue. */
-    public E peek() {
+    public Element peek() {
         return _queue.getHead();
     }
 
@@ -60,7 +62,23 @@ public class Queue<Element> implements Iterable<Element> {
     }
 
     @Override
-    public Iterator<E> iterator() {
+    public Iterator<Element> iterator() {
         return _queue.iterator();
     }
+
+    /** Returns a spliterator over the queue from front to back. */
+    @Override
+    public Spliterator<Element> spliterator() {
+        return _queue.spliterator();
+    }
+
+    /** Returns a sequential stream over the queue. */
+    public Stream<Element> stream() {
+        return _queue.stream();
+    }
+
+    /** Returns a parallel stream over the queue. */
+    public Stream<Element> parallelStream() {
+        return _queue.parallelStream();
+    }
 }
@@ -5,6 +5,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 
 /** A Stack is an abstract data structure that only allows insertion and
@@ -40,17 +42,17 @@ public class Stack<Element> implements Iterable<Element> {
 
     /** Inserts VALUE onto the top of the stack. Returns if the value was
      *  added. */
-    public boolean push(E value) {
+    public boolean push(Element value) {
         return _stack.addHead(value);
     }
 
     /** Returns and removes the top most element of the stack. */
-    public E pop() {
+    public Element pop() {
         return _stack.removeHead();
     }
 
     /** Returns the top of the stack. */
-    public E peek() {
+    public Element peek() {
         return _stack.getHead();
     }
 
@@ -60,7 +62,23 @@ public class Stack<Element> implements Iterable<Element> {
     }
 
     @Override
-    public Iterator<E> iterator() {
+    public Iterator<Element> iterator() {
         return _stack.iterator();
     }
+
+    /** Returns a spliterator over the stack from top to bottom. */
+    @Override
+    public Spliterator<Element> spliterator() {
+        return _stack.spliterator();
+    }
+
+    /** Returns a sequential stream over the stack. */
+    public Stream<Element> stream() {
+        return _stack.stream();
+    }
+
+    /** Returns a parallel stream over the stack. */
+    public Stream<Element> parallelStream() {
+        return _stack.parallelStream();
+    }
 }
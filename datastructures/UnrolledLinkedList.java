@@ -0,0 +1,392 @@
+package main.com.acscooter.datastructures;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+
+/**
+ * @author      Antares Chen
+ * @since       2026-10-17
+ *
+ * UnrolledLinkedList is the unrolled version of LinkedList: a circular doubly linked list with a sentinel node, except
+ * that every node holds an array of up to nodeCapacity elements and a count of how many it holds rather than a single
+ * element. Finding position i only has to hop over whole nodes, adding up their counts, so positional access costs
+ * O(n / nodeCapacity + nodeCapacity) instead of O(n), and a scan runs through arrays rather than chasing a pointer per
+ * element. With the default of 64 elements per node, the list needs about one node object per 32 to 64 elements
+ * instead of one per element.
+ *
+ * Like LinkedList, everything rests on the ListIterator and AbstractSequentialList does the rest. Inserting into a
+ * full node splits it into two half full ones, and appending to a full last node starts a new one, so appends fill
+ * nodes all the way. When a removal leaves a node less than half full, it takes elements from the node after it,
+ * all of them if they fit and half the difference otherwise, so every node but the last stays at least half full.
+ * Elements only ever move to the front of the node they are in or into the node before theirs, which keeps the
+ * iterator's cursor easy to fix up after a removal.
+ */
+public class UnrolledLinkedList<E> extends AbstractSequentialList<E> implements Iterable<E>, List<E>
+{
+    /** The number of elements per node unless told otherwise. */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+    /** The smallest number of elements per node that split and merge work with. */
+    private static final int MIN_NODE_CAPACITY = 4;
+
+    private final int nodeCapacity;
+    private final Node sentinel = new Node(0);
+    private int size = 0;
+
+
+    /**
+     * A node holds its elements in values[0, count).
+     */
+    private static class Node
+    {
+        Object[] values;
+        int count;
+        Node next;
+        Node previous;
+
+        private Node(int capacity)
+        {
+            this.values = new Object[capacity];
+        }
+    }
+
+
+    public UnrolledLinkedList()
+    {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+
+    /**
+     * Creates an empty list that stores up to NODECAPACITY elements per node.
+     * @param nodeCapacity
+     */
+    public UnrolledLinkedList(int nodeCapacity)
+    {
+        if (nodeCapacity < MIN_NODE_CAPACITY)
+            throw new IllegalArgumentException(String.format("Node capacity %d, minimum %d", nodeCapacity,
+                                                             MIN_NODE_CAPACITY));
+        this.nodeCapacity = nodeCapacity;
+        sentinel.next = sentinel;
+        sentinel.previous = sentinel;
+    }
+
+
+    public UnrolledLinkedList(Collection<? extends E> c)
+    {
+        this();
+        this.addAll(c);
+    }
+
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+
+    @Override
+    public void clear()
+    {
+        sentinel.next = sentinel;
+        sentinel.previous = sentinel;
+        size = 0;
+    }
+
+
+    /**
+     * Runs ACTION on every element, a node's array at a time.
+     * @param action
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action)
+    {
+        for (Node node = sentinel.next; node != sentinel; node = node.next)
+            for (int i = 0; i < node.count; i ++)
+                action.accept((E) node.values[i]);
+    }
+
+
+    @Override
+    public ListIterator<E> listIterator(int index)
+    {
+        return new UnrolledIterator(index);
+    }
+
+
+    /**
+     * Links a new empty node in after NODE and returns it.
+     */
+    private Node linkAfter(Node node)
+    {
+        Node created = new Node(nodeCapacity);
+        created.previous = node;
+        created.next = node.next;
+        node.next.previous = created;
+        node.next = created;
+        return created;
+    }
+
+
+    /**
+     * Unlinks NODE from the list.
+     */
+    private static void unlink(Node node)
+    {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.next = null;
+        node.previous = null;
+        node.values = null;
+    }
+
+
+    /**
+     * Moves the upper half of the full NODE into a new node after it.
+     */
+    private void split(Node node)
+    {
+        Node upper = linkAfter(node);
+        int half = node.count / 2;
+        upper.count = node.count - half;
+        System.arraycopy(node.values, half, upper.values, 0, upper.count);
+        Arrays.fill(node.values, half, node.count, null);
+        node.count = half;
+    }
+
+
+    /**
+     * Tops up NODE from the node after it if NODE is less than half full, taking all of that node when both fit in one
+     * and half the difference in their counts otherwise. NODE keeps its own elements where they are. If NODE ends up
+     * empty, which only happens to the last node, it is unlinked.
+     */
+    private void rebalance(Node node)
+    {
+        Node next = node.next;
+        if (node.count < nodeCapacity / 2 && next != sentinel)
+        {
+            int moved = node.count + next.count <= nodeCapacity ? next.count : (next.count - node.count) / 2;
+            System.arraycopy(next.values, 0, node.values, node.count, moved);
+            node.count += moved;
+            if (moved == next.count)
+                unlink(next);
+            else
+            {
+                System.arraycopy(next.values, moved, next.values, 0, next.count - moved);
+                Arrays.fill(next.values, next.count - moved, next.count, null);
+                next.count -= moved;
+            }
+        }
+        if (node.count == 0)
+            unlink(node);
+    }
+
+
+    /**
+     * The UnrolledIterator keeps a cursor on the next element: the node it is in and its offset there, or the
+     * sentinel once the cursor is past the end. The cursor never rests one past the last element of a node; it moves
+     * on to the start of the next node instead. The last returned node and offset say which element set and remove
+     * work on, with lastNode null when there is none.
+     */
+    private class UnrolledIterator implements ListIterator<E>
+    {
+        private Node node;
+        private int offset;
+        private int index;
+        private Node lastNode;
+        private int lastOffset;
+        private boolean lastWasNext;
+
+        /**
+         * Hops over whole nodes from whichever end of the list is closer to INDEX.
+         * @param index
+         */
+        UnrolledIterator(int index)
+        {
+            if (index < 0 || index > size)
+                throw new IndexOutOfBoundsException(String.format("Index %d, size %d", index, size));
+
+            this.index = index;
+            if (index < size / 2)
+            {
+                node = sentinel.next;
+                int remaining = index;
+                while (remaining >= node.count)
+                {
+                    remaining -= node.count;
+                    node = node.next;
+                }
+                offset = remaining;
+            }
+            else
+            {
+                node = sentinel;
+                int position = size;
+                while (position > index)
+                {
+                    node = node.previous;
+                    position -= node.count;
+                }
+                offset = index - position;
+                normalize();
+            }
+        }
+
+        /**
+         * Moves a cursor that sits one past the end of its node onto the start of the next node.
+         */
+        private void normalize()
+        {
+            if (node != sentinel && offset == node.count)
+            {
+                node = node.next;
+                offset = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return node != sentinel;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next()
+        {
+            if (! hasNext())
+                throw new NoSuchElementException();
+
+            lastNode = node;
+            lastOffset = offset;
+            lastWasNext = true;
+            offset ++;
+            index ++;
+            normalize();
+            return (E) lastNode.values[lastOffset];
+        }
+
+        @Override
+        public boolean hasPrevious()
+        {
+            return index > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous()
+        {
+            if (! hasPrevious())
+                throw new NoSuchElementException();
+
+            if (offset > 0)
+                offset --;
+            else
+            {
+                node = node.previous;
+                offset = node.count - 1;
+            }
+            lastNode = node;
+            lastOffset = offset;
+            lastWasNext = false;
+            index --;
+            return (E) node.values[offset];
+        }
+
+        @Override
+        public int nextIndex()
+        {
+            return index;
+        }
+
+        @Override
+        public int previousIndex()
+        {
+            return index - 1;
+        }
+
+        /**
+         * Removes the last returned element from its node and tops the node up if it fell below half full. Elements
+         * after it in the node shift down into its slot and elements pulled in from the next node land after them, so
+         * the element that followed the removed one is at the removed one's old position, which is where the cursor
+         * goes.
+         */
+        @Override
+        public void remove()
+        {
+            if (lastNode == null)
+                throw new IllegalStateException();
+
+            Node target = lastNode;
+            System.arraycopy(target.values, lastOffset + 1, target.values, lastOffset, target.count - lastOffset - 1);
+            target.values[-- target.count] = null;
+            size --;
+            if (lastWasNext)
+                index --;
+
+            rebalance(target);
+            if (target.values == null)
+            {
+                node = sentinel;
+                offset = 0;
+            }
+            else
+            {
+                node = target;
+                offset = lastOffset;
+                normalize();
+            }
+            lastNode = null;
+        }
+
+        @Override
+        public void set(E e)
+        {
+            if (lastNode == null)
+                throw new IllegalStateException();
+
+            lastNode.values[lastOffset] = e;
+        }
+
+        /**
+         * Inserts E before the cursor. At the start of a node the element goes at the end of the node before if it has
+         * room, so appending fills the last node before starting another. A full node is split first.
+         * @param e
+         */
+        @Override
+        public void add(E e)
+        {
+            Node target = node;
+            int at = offset;
+            if (offset == 0 && node.previous != sentinel && node.previous.count < nodeCapacity)
+            {
+                target = node.previous;
+                at = target.count;
+            }
+            else if (node == sentinel)
+                target = linkAfter(sentinel.previous);
+            else if (target.count == nodeCapacity)
+            {
+                split(target);
+                if (at > target.count)
+                {
+                    at -= target.count;
+                    target = target.next;
+                }
+            }
+
+            System.arraycopy(target.values, at, target.values, at + 1, target.count - at);
+            target.values[at] = e;
+            target.count ++;
+            size ++;
+            index ++;
+
+            node = target;
+            offset = at + 1;
+            normalize();
+            lastNode = null;
+        }
+    }
+}